@@ -0,0 +1,54 @@
+#!/usr/bin/env bash
+#
+# Produces the class data sharing (AppCDS) archive for the AOT-processed backend.
+#
+# 1. Extracts the jar built with `mvn -Pcds -DskipTests package` into target/cds-app, because CDS only
+#    works on a plain class path of jars and not on the nested jars of the executable jar.
+# 2. Starts the extracted application with Spring AOT enabled and -XX:ArchiveClassesAtExit.
+# 3. Trains it with a representative workload: one feed ingest of scripts/sample-feed.xml and one report.
+# 4. Stops it, which makes the JVM write the archive to target/cds-app/application.jsa.
+#
+# Start the optimized application with:
+#   java -XX:SharedArchiveFile=target/cds-app/application.jsa -Dspring.aot.enabled=true \
+#        -jar target/cds-app/energy-report-application-backend-*.jar
+#
+# The archive is only valid for the exact same JDK and jars, so rerun this script after every build.
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+PORT="${PORT:-18080}"
+BASE_URL="http://localhost:${PORT}"
+APP_DIR="target/cds-app"
+ARCHIVE="${APP_DIR}/application.jsa"
+JAR="$(ls target/energy-report-application-backend-*.jar | head -n 1)"
+
+rm -rf "$APP_DIR"
+java -Djarmode=tools -jar "$JAR" extract --destination "$APP_DIR"
+APP_JAR="$(ls "${APP_DIR}"/energy-report-application-backend-*.jar | head -n 1)"
+
+java -XX:ArchiveClassesAtExit="$ARCHIVE" -Dspring.aot.enabled=true \
+    -jar "$APP_JAR" --server.port="$PORT" --logging.level.root=WARN &
+pid=$!
+
+until curl -sf "${BASE_URL}/actuator/health/readiness" > /dev/null 2>&1; do
+    if ! kill -0 "$pid" 2> /dev/null; then
+        echo "training run exited before becoming ready" >&2
+        exit 1
+    fi
+    sleep 0.2
+done
+
+curl -sf -X POST -H 'Content-Type: application/xml' --data-binary @scripts/sample-feed.xml "${BASE_URL}/api/data"
+curl -sf "${BASE_URL}/api/report?meterId=sample-meter" > /dev/null
+curl -sf "${BASE_URL}/api/meters" > /dev/null
+
+kill "$pid"
+wait "$pid" 2> /dev/null || true
+
+if [[ ! -f "$ARCHIVE" ]]; then
+    echo "no CDS archive was written to ${ARCHIVE}" >&2
+    exit 1
+fi
+echo "CDS archive written to ${ARCHIVE} ($(du -h "$ARCHIVE" | cut -f1))"
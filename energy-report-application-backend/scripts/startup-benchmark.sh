@@ -0,0 +1,81 @@
+#!/usr/bin/env bash
+#
+# Compares startup of the backend across launch modes.
+#
+# For every mode and run it starts the application on a free port, measures the time until
+# /actuator/health/readiness reports UP, then the latency of the first POST /api/data with
+# scripts/sample-feed.xml and of the first GET /api/report for the ingested meter, and finally
+# the resident set size of the process.
+#
+# Modes:
+#   no-warmup  default jar, startup warmup disabled
+#   warmup     default jar, startup warmup enabled
+#   cds-aot    extracted AOT-processed jar with the CDS archive, only if scripts/cds-training.sh has been run
+#
+# Usage: scripts/startup-benchmark.sh [runs]    (build first with: mvn -DskipTests package,
+#                                                 or mvn -Pcds -DskipTests package && scripts/cds-training.sh)
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS="${1:-5}"
+PORT="${PORT:-18080}"
+JAR="$(ls target/energy-report-application-backend-*.jar | head -n 1)"
+CDS_ARCHIVE="target/cds-app/application.jsa"
+FEED="scripts/sample-feed.xml"
+METER_ID="sample-meter"
+BASE_URL="http://localhost:${PORT}"
+
+now_ms() {
+    date +%s%3N
+}
+
+# Each mode is "<label>|<jar>|<JVM arguments>|<application arguments>"
+MODES=(
+    "no-warmup|${JAR}||--warmup.enabled=false"
+    "warmup|${JAR}||--warmup.enabled=true"
+)
+if [[ -f "$CDS_ARCHIVE" ]]; then
+    CDS_JAR="$(ls target/cds-app/energy-report-application-backend-*.jar | head -n 1)"
+    MODES+=("cds-aot|${CDS_JAR}|-XX:SharedArchiveFile=${CDS_ARCHIVE} -Dspring.aot.enabled=true|--warmup.enabled=true")
+fi
+
+run_once() {
+    local jar="$1" jvm_args="$2" app_args="$3"
+    local start ready ingest report rss pid
+
+    start=$(now_ms)
+    # shellcheck disable=SC2086
+    java $jvm_args -jar "$jar" --server.port="$PORT" --logging.level.root=WARN $app_args > /dev/null 2>&1 &
+    pid=$!
+
+    until curl -sf "${BASE_URL}/actuator/health/readiness" > /dev/null 2>&1; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "application exited before becoming ready" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    ready=$(( $(now_ms) - start ))
+
+    ingest=$(curl -s -o /dev/null -w '%{time_total}' -X POST -H 'Content-Type: application/xml' \
+        --data-binary "@${FEED}" "${BASE_URL}/api/data")
+    report=$(curl -s -o /dev/null -w '%{time_total}' "${BASE_URL}/api/report?meterId=${METER_ID}")
+    rss=$(ps -o rss= -p "$pid" | tr -d ' ')
+
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+
+    awk -v r="$ready" -v i="$ingest" -v p="$report" -v m="$rss" \
+        'BEGIN { printf "%d %.1f %.1f %d\n", r, i * 1000, p * 1000, m / 1024 }'
+}
+
+printf "%-10s %4s %11s %18s %18s %9s\n" "mode" "run" "ready (ms)" "first ingest (ms)" "first report (ms)" "RSS (MB)"
+for mode in "${MODES[@]}"; do
+    IFS='|' read -r label jar jvm_args app_args <<< "$mode"
+    for run in $(seq 1 "$RUNS"); do
+        read -r ready ingest report rss <<< "$(run_once "$jar" "$jvm_args" "$app_args")"
+        printf "%-10s %4d %11d %18s %18s %9d\n" "$label" "$run" "$ready" "$ingest" "$report" "$rss"
+    done
+done
@@ -0,0 +1,88 @@
+package com.example.energyreportapplication.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Read/write routing between the primary database and an optional read replica.
+ * <p>
+ * The primary pool is configured through {@code spring.datasource.*} as before. If {@code replica.datasource.url}
+ * is set, a second pool is configured through {@code replica.datasource.*}, and connections for
+ * {@code @Transactional(readOnly = true)} work are taken from it. Everything else, including all ingest writes,
+ * stays on the primary pool. The connection is only fetched once the transaction's read-only flag is known,
+ * so a read-only transaction never touches the primary pool unless it runs inside {@link ReadRouting#onPrimary},
+ * which is used for reads that must not lag behind the latest commit.
+ * </p>
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties primaryDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(@Qualifier("primaryDataSourceProperties") DataSourceProperties primaryDataSourceProperties) {
+        return primaryDataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConditionalOnProperty("replica.datasource.url")
+    @ConfigurationProperties("replica.datasource")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConditionalOnProperty("replica.datasource.url")
+    @ConfigurationProperties("replica.datasource.hikari")
+    public HikariDataSource replicaDataSource(@Qualifier("replicaDataSourceProperties") DataSourceProperties replicaDataSourceProperties) {
+        return replicaDataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") ObjectProvider<DataSource> replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        replicaDataSource.ifAvailable(replica -> {
+            ReadOnlyRoutingDataSource readOnlyDataSource = new ReadOnlyRoutingDataSource();
+            readOnlyDataSource.setTargetDataSources(Map.of(ReadOnlyRoutingDataSource.PRIMARY, primaryDataSource,
+                    ReadOnlyRoutingDataSource.REPLICA, replica));
+            readOnlyDataSource.setDefaultTargetDataSource(replica);
+            readOnlyDataSource.afterPropertiesSet();
+            dataSource.setReadOnlyDataSource(readOnlyDataSource);
+        });
+        return dataSource;
+    }
+
+    /**
+     * Target for read-only connections: the replica, or the primary while {@link ReadRouting} requests it.
+     */
+    private static class ReadOnlyRoutingDataSource extends AbstractRoutingDataSource {
+
+        private static final String PRIMARY = "primary";
+        private static final String REPLICA = "replica";
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return ReadRouting.isPrimaryRequested() ? PRIMARY : REPLICA;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.energyreportapplication.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Limits applied while parsing ingested feeds ({@code feed.parsing.*}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "feed.parsing")
+public class FeedParsingProperties {
+
+    /**
+     * Maximum size of an ingested document in bytes; larger uploads are rejected as soon as the limit is crossed.
+     */
+    private long maxDocumentBytes = 50L * 1024 * 1024;
+
+    /**
+     * Maximum number of XML elements in a single document.
+     */
+    private long maxElementCount = 2_000_000;
+
+    /**
+     * Maximum nesting depth of XML elements.
+     */
+    private int maxElementDepth = 32;
+
+    /**
+     * Maximum length of a single text node.
+     */
+    private int maxTextLength = 64 * 1024;
+
+    /**
+     * Maximum number of interval readings accepted in a single document.
+     */
+    private int maxReadingsPerRequest = 100_000;
+}
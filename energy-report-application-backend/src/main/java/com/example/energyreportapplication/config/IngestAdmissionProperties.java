@@ -0,0 +1,58 @@
+package com.example.energyreportapplication.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Admission limits for {@code POST /api/data} ({@code ingest.admission.*}).
+ * <p>
+ * The payload size limit is {@code feed.parsing.max-document-bytes}, checked against {@code Content-Length}
+ * before any parsing.
+ * </p>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ingest.admission")
+public class IngestAdmissionProperties {
+
+    /**
+     * Whether admission control is applied at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Sustained ingests per second accepted across all meters.
+     */
+    private double globalRatePerSecond = 50;
+
+    /**
+     * Ingests that may be accepted at once across all meters after an idle period.
+     */
+    private int globalBurst = 100;
+
+    /**
+     * Sustained ingests per second accepted for a single meter.
+     */
+    private double meterRatePerSecond = 1;
+
+    /**
+     * Ingests that may be accepted at once for a single meter after an idle period.
+     */
+    private int meterBurst = 5;
+
+    /**
+     * Maximum number of ingests parsed and stored concurrently.
+     */
+    private int maxConcurrentIngests = 8;
+
+    /**
+     * How long an ingest may queue for a free slot before it is rejected.
+     */
+    private long maxQueueWaitMillis = 500;
+
+    /**
+     * Maximum number of meters with a tracked rate limit; the least recently admitted meter is dropped beyond it.
+     */
+    private int maxTrackedMeters = 10_000;
+}
@@ -0,0 +1,19 @@
+package com.example.energyreportapplication.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the per-phase profiling of ingests and reports ({@code profiling.*}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "profiling")
+public class ProfilingProperties {
+
+    /**
+     * Requests taking at least this long have their phase breakdown logged; {@code 0} or less disables the log.
+     */
+    private long slowRequestThresholdMillis = 2000;
+}
@@ -0,0 +1,42 @@
+package com.example.energyreportapplication.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread override that sends read-only transactions to the primary database instead of the replica.
+ * <p>
+ * Used for reads whose result outlives the request, such as cached reports, which must not be computed from a
+ * lagging replica. Has no effect without a configured replica.
+ * </p>
+ */
+public final class ReadRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUESTED = ThreadLocal.withInitial(() -> false);
+
+    private ReadRouting() {
+    }
+
+    public static boolean isPrimaryRequested() {
+        return PRIMARY_REQUESTED.get();
+    }
+
+    /**
+     * Runs {@code work} with read-only transactions routed to the primary database.
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        return route(true, work);
+    }
+
+    /**
+     * Runs {@code work} with the given routing, e.g. to carry the caller's routing over to a worker thread.
+     */
+    public static <T> T route(boolean primary, Supplier<T> work) {
+        boolean previous = PRIMARY_REQUESTED.get();
+        PRIMARY_REQUESTED.set(primary);
+        try {
+            return work.get();
+        } finally {
+            PRIMARY_REQUESTED.set(previous);
+        }
+    }
+}
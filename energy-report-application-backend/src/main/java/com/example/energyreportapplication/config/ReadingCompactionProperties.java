@@ -0,0 +1,29 @@
+package com.example.energyreportapplication.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the scheduled downsampling of raw interval readings ({@code reading.compaction.*}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "reading.compaction")
+public class ReadingCompactionProperties {
+
+    /**
+     * Whether the scheduled compaction job runs at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Raw sub-hourly readings older than this many days are replaced by hourly aggregates.
+     */
+    private int rawRetentionDays = 90;
+
+    /**
+     * Readings older than this many days, hourly aggregates included, are deleted; 0 keeps them forever.
+     */
+    private int hourlyRetentionDays = 0;
+}
@@ -0,0 +1,29 @@
+package com.example.energyreportapplication.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for parallel report aggregation ({@code report.aggregation.*}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "report.aggregation")
+public class ReportAggregationProperties {
+
+    /**
+     * Minimum number of readings in the requested range before a report is aggregated in parallel.
+     */
+    private long parallelThreshold = 200_000;
+
+    /**
+     * Number of calendar months fetched and aggregated by a single chunk.
+     */
+    private int chunkMonths = 1;
+
+    /**
+     * Threads of the dedicated report aggregation pool, capped at the connection pool size minus one.
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+}
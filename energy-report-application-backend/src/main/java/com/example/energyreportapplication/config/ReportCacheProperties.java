@@ -0,0 +1,19 @@
+package com.example.energyreportapplication.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the in-memory cache of full-history reports ({@code report.cache.*}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "report.cache")
+public class ReportCacheProperties {
+
+    /**
+     * Maximum number of meters whose report is kept in memory; the least recently used one is dropped first.
+     */
+    private int maxEntries = 256;
+}
@@ -0,0 +1,19 @@
+package com.example.energyreportapplication.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for coalescing concurrent identical report requests ({@code report.coalescing.*}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "report.coalescing")
+public class ReportCoalescingProperties {
+
+    /**
+     * How long a request waits for an identical in-flight report before it fails.
+     */
+    private long maxWaitMillis = 30_000;
+}
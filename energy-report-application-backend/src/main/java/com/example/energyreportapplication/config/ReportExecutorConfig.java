@@ -0,0 +1,53 @@
+package com.example.energyreportapplication.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class ReportExecutorConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportExecutorConfig.class);
+
+    /**
+     * Dedicated pool for chunked report aggregation, kept apart from the common pool and the servlet threads.
+     * <p>
+     * Every chunk holds a JDBC connection while it runs, so the pool never has more threads than the smaller
+     * connection pool minus one. Chunks may read from either pool, and the request that started the aggregation
+     * holds a connection of its own. Chunks beyond that wait in the queue instead of blocking on Hikari.
+     * </p>
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor reportAggregationExecutor(ReportAggregationProperties aggregationProperties,
+                                                        @Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                                        @Qualifier("replicaDataSource") ObjectProvider<HikariDataSource> replicaDataSource) {
+        int connections = primaryDataSource.getMaximumPoolSize();
+        HikariDataSource replica = replicaDataSource.getIfAvailable();
+        if (replica != null) {
+            connections = Math.min(connections, replica.getMaximumPoolSize());
+        }
+        int threads = Math.max(1, Math.min(aggregationProperties.getParallelism(), connections - 1));
+        logger.info("Report aggregation pool uses {} threads for {} connections", threads, connections);
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                aggregationThreadFactory());
+    }
+
+    private ThreadFactory aggregationThreadFactory() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "report-aggregation-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.energyreportapplication.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for the startup warmup that runs before the application reports ready ({@code warmup.*}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "warmup")
+public class WarmupProperties {
+
+    /**
+     * Whether the warmup runs at all; without it the application reports ready as soon as the context is up.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Number of synthetic feeds parsed and reports serialized to warm up the mappers and the JIT.
+     */
+    private int iterations = 200;
+
+    /**
+     * Number of interval readings in each synthetic feed.
+     */
+    private int readingsPerFeed = 96;
+
+    /**
+     * Meters whose full-history report is computed and cached during warmup. This is a static list; request
+     * frequency is not tracked, so pick the most-requested meters from the access logs of a previous run.
+     */
+    private List<String> hotMeterIds = new ArrayList<>();
+}
@@ -1,17 +1,48 @@
 package com.example.energyreportapplication.config;
 
+import com.ctc.wstx.api.WstxInputProperties;
+import com.ctc.wstx.stax.WstxInputFactory;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlFactory;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 
+import javax.xml.stream.XMLInputFactory;
+
 @Configuration
 public class XmlMapperConfig {
 
+    /**
+     * Shared Woodstox factory for feed parsing.
+     * <p>
+     * DTDs and external entities are disabled, and document size, element count, nesting depth and text length
+     * are bounded so that an oversized or hostile upload fails while streaming instead of exhausting the heap.
+     * </p>
+     */
+    @Bean
+    public XMLInputFactory feedXmlInputFactory(FeedParsingProperties feedParsingProperties) {
+        XMLInputFactory inputFactory = new WstxInputFactory();
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        inputFactory.setProperty(WstxInputProperties.P_MAX_CHARACTERS, feedParsingProperties.getMaxDocumentBytes());
+        inputFactory.setProperty(WstxInputProperties.P_MAX_ELEMENT_COUNT, feedParsingProperties.getMaxElementCount());
+        inputFactory.setProperty(WstxInputProperties.P_MAX_ELEMENT_DEPTH, feedParsingProperties.getMaxElementDepth());
+        inputFactory.setProperty(WstxInputProperties.P_MAX_TEXT_LENGTH, feedParsingProperties.getMaxTextLength());
+        return inputFactory;
+    }
+
+    /**
+     * Feed mapper built on the shared input factory. Elements without a counterpart in the {@code xmlmodel}
+     * classes, such as {@code title} or other ESPI nodes, are skipped instead of failing the ingest.
+     */
     @Bean
-    public XmlMapper xmlMapper() {
-        return new XmlMapper();
+    public XmlMapper xmlMapper(XMLInputFactory feedXmlInputFactory) {
+        return XmlMapper.builder(new XmlFactory(feedXmlInputFactory))
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
     }
 
     @Bean
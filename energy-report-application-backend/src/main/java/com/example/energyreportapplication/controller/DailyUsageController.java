@@ -0,0 +1,67 @@
+package com.example.energyreportapplication.controller;
+
+import com.example.energyreportapplication.exception.InvalidRequestParameterException;
+import com.example.energyreportapplication.model.dto.DailyUsageSummaryDto;
+import com.example.energyreportapplication.model.dto.UsageRanking;
+import com.example.energyreportapplication.service.DailyUsageIndexService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST Controller for fleet-wide daily usage rankings.
+ */
+@RestController
+@RequestMapping("/api/daily-usage")
+public class DailyUsageController {
+
+    /**
+     * Largest ranking that can be requested at once.
+     */
+    private static final int MAX_LIMIT = 1000;
+
+    private final DailyUsageIndexService dailyUsageIndexService;
+
+    /**
+     * Constructs the DailyUsageController with the required service.
+     *
+     * @param dailyUsageIndexService Service to query the daily usage index.
+     */
+    @Autowired
+    public DailyUsageController(DailyUsageIndexService dailyUsageIndexService) {
+        this.dailyUsageIndexService = dailyUsageIndexService;
+    }
+
+    /**
+     * Endpoint to retrieve the meters with the highest peak hour or total consumption on a UTC day.
+     * <p>
+     * The ranking is read from the per-day summaries maintained during ingestion; raw readings are not scanned.
+     * </p>
+     *
+     * @param day   The UTC day, e.g. {@code 2019-04-01}.
+     * @param by    {@code peak} (default) to rank by peak hour consumption, or {@code total} to rank by daily total.
+     * @param limit Number of meters to return, between 1 and 1000 (default 10).
+     * @return {@link ResponseEntity} containing the summaries in descending order.
+     * @throws InvalidRequestParameterException if the ranking is unknown or the limit is out of range.
+     */
+    @GetMapping(value = "/top", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<DailyUsageSummaryDto>> getTopMeters(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate day,
+                                                                   @RequestParam(defaultValue = "peak") String by,
+                                                                   @RequestParam(defaultValue = "10") int limit) {
+        UsageRanking ranking;
+        try {
+            ranking = UsageRanking.valueOf(by.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestParameterException("Unknown ranking: " + by + ", expected peak or total");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidRequestParameterException("limit must be between 1 and " + MAX_LIMIT + ", got " + limit);
+        }
+        return ResponseEntity.ok(dailyUsageIndexService.getTopMeters(day, ranking, limit));
+    }
+}
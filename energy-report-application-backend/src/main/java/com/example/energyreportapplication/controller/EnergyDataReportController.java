@@ -1,14 +1,20 @@
 package com.example.energyreportapplication.controller;
 
+import com.example.energyreportapplication.exception.InvalidRequestParameterException;
+import com.example.energyreportapplication.exception.PayloadTooLargeException;
+import com.example.energyreportapplication.model.dto.HourlyReportPageDto;
 import com.example.energyreportapplication.model.dto.ReportDto;
 import com.example.energyreportapplication.repository.ReadingTypeRepository;
+import com.example.energyreportapplication.service.IngestAdmissionGate;
 import com.example.energyreportapplication.service.ReportGeneratingService;
 import com.example.energyreportapplication.service.XmlParsingService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -18,6 +24,7 @@ import java.util.List;
  * <ul>
  *   <li>Ingesting XML energy data.</li>
  *   <li>Generating a report for a specific meter.</li>
+ *   <li>Paging through the hourly details of a report.</li>
  *   <li>Retrieving all available meter IDs.</li>
  * </ul>
  * </p>
@@ -26,8 +33,14 @@ import java.util.List;
 @RequestMapping("/api")
 public class EnergyDataReportController {
 
+    /**
+     * Largest page of hourly details that can be requested at once.
+     */
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final XmlParsingService xmlParsingService;
     private final ReportGeneratingService reportGeneratingService;
+    private final IngestAdmissionGate ingestAdmissionGate;
 
     /**
      * Constructs the EnergyDataReportController with required services.
@@ -35,25 +48,39 @@ public class EnergyDataReportController {
      * @param xmlParsingService        Service to handle XML parsing and data storage.
      * @param reportGeneratingService  Service to generate reports based on meter data.
      * @param readingTypeRepository    Repository to access meter readings.
+     * @param ingestAdmissionGate      Admission control applied to ingest requests before parsing.
      */
     @Autowired
-    public EnergyDataReportController(XmlParsingService xmlParsingService, ReportGeneratingService reportGeneratingService, ReadingTypeRepository readingTypeRepository) {
+    public EnergyDataReportController(XmlParsingService xmlParsingService, ReportGeneratingService reportGeneratingService, ReadingTypeRepository readingTypeRepository,
+                                      IngestAdmissionGate ingestAdmissionGate) {
         this.xmlParsingService = xmlParsingService;
         this.reportGeneratingService = reportGeneratingService;
+        this.ingestAdmissionGate = ingestAdmissionGate;
     }
 
     /**
      * Endpoint to ingest XML data and store it.
      * <p>
      * This endpoint accepts XML input, parses it, and stores the data for future processing.
+     * The body is parsed directly from the request stream without buffering it into a String.
+     * Requests beyond the size, rate or concurrency limits are rejected with 413 or 429 before parsing starts.
      * </p>
      *
-     * @param xmlData XML payload as a String containing meter readings.
+     * @param xmlData       XML payload stream containing meter readings.
+     * @param contentLength Declared size of the payload, if sent.
      * @return {@link ResponseEntity} with HTTP 200 OK status upon successful processing.
      */
     @PostMapping(value = "/data", consumes = MediaType.APPLICATION_XML_VALUE)
-    public ResponseEntity<Void> ingestData(@RequestBody String xmlData) {
-        xmlParsingService.parseAndStore(xmlData);
+    public ResponseEntity<Void> ingestData(InputStream xmlData,
+                                           @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, required = false) Long contentLength) {
+        try (IngestAdmissionGate.IngestPermit permit = ingestAdmissionGate.admit(contentLength, xmlData)) {
+            try {
+                xmlParsingService.parseAndStore(permit.body());
+            } catch (PayloadTooLargeException e) {
+                ingestAdmissionGate.recordPayloadTooLarge();
+                throw e;
+            }
+        }
         return ResponseEntity.ok().build();
     }
 
@@ -61,17 +88,53 @@ public class EnergyDataReportController {
      * Endpoint to retrieve a report for a specific meter ID.
      * <p>
      * The generated report contains total energy usage and cost as well as hourly details for the given meter.
+     * An optional time range restricts the report to readings starting within it.
      * </p>
      *
      * @param meterId The unique identifier of the meter for which the report is requested.
+     * @param from    Optional inclusive lower bound of the reading start time, in epoch seconds.
+     * @param to      Optional exclusive upper bound of the reading start time, in epoch seconds.
      * @return {@link ResponseEntity} containing the {@link ReportDto} with report details.
      */
     @GetMapping(value = "/report", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ReportDto> getReport(@RequestParam String meterId) {
-        ReportDto report = reportGeneratingService.getReport(meterId);
+    public ResponseEntity<ReportDto> getReport(@RequestParam String meterId,
+                                               @RequestParam(required = false) Long from,
+                                               @RequestParam(required = false) Long to) {
+        ReportDto report = reportGeneratingService.getReport(meterId, from, to);
         return ResponseEntity.ok(report);
     }
 
+    /**
+     * Endpoint to retrieve a window of the hourly details of a meter's report.
+     * <p>
+     * Each page carries the report totals and the total number of hours, so clients can render a window of a long
+     * report without downloading all of it. With {@code since}, the page starts at the first hour not before the
+     * given hour label instead of at {@code offset}; clients use this to fetch only the hours that changed or were
+     * added since their last fetch.
+     * </p>
+     *
+     * @param meterId The unique identifier of the meter.
+     * @param offset  Index of the first hour to return (default 0).
+     * @param limit   Number of hours to return, between 1 and 1000 (default 100).
+     * @param since   Optional hour label, e.g. {@code 2019-04-01 10:00}, to start the page at.
+     * @return {@link ResponseEntity} containing the {@link HourlyReportPageDto}.
+     * @throws InvalidRequestParameterException if the offset is negative or the limit is out of range.
+     */
+    @GetMapping(value = "/report/hours", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<HourlyReportPageDto> getHourlyReportPage(@RequestParam String meterId,
+                                                                   @RequestParam(defaultValue = "0") int offset,
+                                                                   @RequestParam(defaultValue = "100") int limit,
+                                                                   @RequestParam(required = false) String since) {
+        if (offset < 0) {
+            throw new InvalidRequestParameterException("offset must not be negative, got " + offset);
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidRequestParameterException("limit must be between 1 and " + MAX_PAGE_SIZE + ", got " + limit);
+        }
+        HourlyReportPageDto page = reportGeneratingService.getHourlyReportPage(meterId, since, offset, limit);
+        return ResponseEntity.ok(page);
+    }
+
     /**
      * Endpoint to retrieve all available meter IDs.
      * <p>
@@ -0,0 +1,99 @@
+package com.example.energyreportapplication.controller;
+
+import com.example.energyreportapplication.exception.InvalidRequestParameterException;
+import com.example.energyreportapplication.model.dto.ExportFormat;
+import com.example.energyreportapplication.service.ReadingExportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * REST Controller for bulk export of raw interval readings.
+ */
+@RestController
+@RequestMapping("/api/export")
+public class ReadingExportController {
+
+    /**
+     * Async timeout of an export; zero or less means the export may stream for as long as the data takes.
+     */
+    private static final long EXPORT_TIMEOUT_MILLIS = -1L;
+
+    private final ReadingExportService readingExportService;
+
+    /**
+     * Constructs the ReadingExportController with the required service.
+     *
+     * @param readingExportService Service to stream raw readings.
+     */
+    @Autowired
+    public ReadingExportController(ReadingExportService readingExportService) {
+        this.readingExportService = readingExportService;
+    }
+
+    /**
+     * Endpoint to stream the raw readings of one meter, a set of meters or all meters.
+     * <p>
+     * The response is written while the readings are read from the database, so exports of any size
+     * run in constant memory. Rows are ordered by meter and start time. Unlike other async requests,
+     * exports are not cut off by the async request timeout.
+     * </p>
+     *
+     * @param meterId Optional, repeatable meter filter; all meters are exported if it is absent.
+     * @param from    Optional inclusive lower bound of the reading start time, in epoch seconds.
+     * @param to      Optional exclusive upper bound of the reading start time, in epoch seconds.
+     * @param format  {@code csv} (default) or {@code ndjson}.
+     * @param request The current request, used to lift the async timeout for this export.
+     * @return {@link ResponseEntity} streaming the readings.
+     * @throws InvalidRequestParameterException if the format is unknown.
+     */
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> exportReadings(@RequestParam(required = false) List<String> meterId,
+                                                                @RequestParam(required = false) Long from,
+                                                                @RequestParam(required = false) Long to,
+                                                                @RequestParam(defaultValue = "csv") String format,
+                                                                HttpServletRequest request) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestParameterException("Unknown export format: " + format + ", expected csv or ndjson");
+        }
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(ReadingExportController.class.getName(),
+                new ExportTimeoutInterceptor());
+        StreamingResponseBody body = outputStream ->
+                readingExportService.exportReadings(meterId, from, to, exportFormat, outputStream);
+
+        String fileName = "interval-readings." + exportFormat.name().toLowerCase();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+
+    /**
+     * Sets the export timeout on the async request right before the streaming body is started,
+     * after the default from {@code spring.mvc.async.request-timeout} has been applied.
+     */
+    private static class ExportTimeoutInterceptor implements CallableProcessingInterceptor {
+
+        @Override
+        public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+            if (request instanceof AsyncWebRequest asyncWebRequest) {
+                asyncWebRequest.setTimeout(EXPORT_TIMEOUT_MILLIS);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.energyreportapplication.controller;
+
+import com.example.energyreportapplication.model.dto.TariffScheduleDto;
+import com.example.energyreportapplication.service.TariffService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for managing the time-of-use tariffs of meters.
+ * <p>
+ * A meter without tariff schedules is billed at the flat {@code kWhPrice} of its feed.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/tariffs")
+public class TariffController {
+
+    private final TariffService tariffService;
+
+    /**
+     * Constructs the TariffController with the required service.
+     *
+     * @param tariffService Service to read and add tariff schedules.
+     */
+    @Autowired
+    public TariffController(TariffService tariffService) {
+        this.tariffService = tariffService;
+    }
+
+    /**
+     * Endpoint to retrieve the tariff schedules of a meter, ordered by the time they take effect.
+     *
+     * @param meterId The unique identifier of the meter.
+     * @return {@link ResponseEntity} containing the list of {@link TariffScheduleDto}.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<TariffScheduleDto>> getSchedules(@RequestParam String meterId) {
+        return ResponseEntity.ok(tariffService.getSchedules(meterId));
+    }
+
+    /**
+     * Endpoint to add a tariff schedule to a meter.
+     * <p>
+     * The schedule applies from its {@code effectiveFrom} (epoch seconds) until the next schedule of the meter.
+     * </p>
+     *
+     * @param meterId  The unique identifier of the meter.
+     * @param schedule The rates and peak window of the schedule.
+     * @return {@link ResponseEntity} containing the stored {@link TariffScheduleDto}.
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<TariffScheduleDto> addSchedule(@RequestParam String meterId, @RequestBody TariffScheduleDto schedule) {
+        return ResponseEntity.ok(tariffService.addSchedule(meterId, schedule));
+    }
+}
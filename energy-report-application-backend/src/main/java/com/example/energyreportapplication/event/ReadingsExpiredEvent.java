@@ -0,0 +1,7 @@
+package com.example.energyreportapplication.event;
+
+/**
+ * Published once readings of {@code meterId} older than the retention period have been deleted,
+ * so that cached reports still covering them are dropped.
+ */
+public record ReadingsExpiredEvent (String meterId, int readingCount) {}
@@ -0,0 +1,6 @@
+package com.example.energyreportapplication.event;
+
+/**
+ * Published once a feed for {@code meterId} has been stored, so that derived state for the meter can be refreshed.
+ */
+public record ReadingsIngestedEvent (String meterId, int readingCount) {}
@@ -0,0 +1,6 @@
+package com.example.energyreportapplication.event;
+
+/**
+ * Published once the tariff schedules of {@code meterId} have changed, so that cached costs for the meter are dropped.
+ */
+public record TariffChangedEvent (String meterId) {}
@@ -0,0 +1,7 @@
+package com.example.energyreportapplication.exception;
+
+public class InvalidTariffException extends RuntimeException {
+    public InvalidTariffException(String message) {
+        super(message);
+    }
+}
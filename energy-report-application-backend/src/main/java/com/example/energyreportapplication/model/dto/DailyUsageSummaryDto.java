@@ -0,0 +1,9 @@
+package com.example.energyreportapplication.model.dto;
+
+public record DailyUsageSummaryDto(
+        String meterId,
+        String day,
+        Long totalKwh,
+        Long peakHourStart,
+        Long peakHourKwh
+) {}
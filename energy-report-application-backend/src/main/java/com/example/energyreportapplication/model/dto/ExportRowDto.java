@@ -0,0 +1,3 @@
+package com.example.energyreportapplication.model.dto;
+
+public record ExportRowDto (String meterId, long startTimestamp, long durationSeconds, long readingValue) {}
@@ -0,0 +1,11 @@
+package com.example.energyreportapplication.model.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record HourlyReportPageDto (String meterId,
+                                   long totalEnergy,
+                                   BigDecimal totalCost,
+                                   int totalHours,
+                                   int offset,
+                                   List<HourlyReportDto> hourlyReports) {}
@@ -0,0 +1,3 @@
+package com.example.energyreportapplication.model.dto;
+
+public record HourlyUsageDto (Long hourStart, Long kwh) {}
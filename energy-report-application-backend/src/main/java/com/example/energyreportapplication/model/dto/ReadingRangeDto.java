@@ -0,0 +1,3 @@
+package com.example.energyreportapplication.model.dto;
+
+public record ReadingRangeDto (Long readingCount, Long firstStartTimestamp, Long lastStartTimestamp) {}
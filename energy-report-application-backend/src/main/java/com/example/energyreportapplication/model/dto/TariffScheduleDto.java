@@ -0,0 +1,7 @@
+package com.example.energyreportapplication.model.dto;
+
+import java.math.BigDecimal;
+
+public record TariffScheduleDto (long effectiveFrom, int peakStartHour, int peakEndHour,
+                                 BigDecimal weekdayPeakPrice, BigDecimal weekdayOffPeakPrice,
+                                 BigDecimal weekendPeakPrice, BigDecimal weekendOffPeakPrice) {}
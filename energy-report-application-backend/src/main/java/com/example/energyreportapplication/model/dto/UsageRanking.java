@@ -0,0 +1,6 @@
+package com.example.energyreportapplication.model.dto;
+
+public enum UsageRanking {
+    PEAK,
+    TOTAL
+}
@@ -0,0 +1,69 @@
+package com.example.energyreportapplication.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * Usage of a meter on one UTC day, maintained during ingestion.
+ * <p>
+ * {@code usageDay} is the day as {@code yyyyMMdd} (e.g. {@code 20190401}). The peak is the hour with the highest
+ * consumption; on ties the earliest hour wins. The indexes lead with the day so that fleet-wide rankings for a day
+ * are answered without touching the readings.
+ * </p>
+ */
+@Entity
+@Table(uniqueConstraints = {
+        @UniqueConstraint(name = "uk_daily_usage_meter_day", columnNames = {"reading_type_id", "usage_day"})
+}, indexes = {
+        @Index(name = "idx_daily_usage_peak", columnList = "usage_day, peak_hour_kwh"),
+        @Index(name = "idx_daily_usage_total", columnList = "usage_day, total_kwh")
+})
+@Getter
+@Setter
+public class DailyUsageSummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "reading_type_id")
+    private ReadingType readingType;
+
+    @Column(name = "usage_day")
+    private int usageDay;
+
+    @Column(name = "total_kwh")
+    private long totalKwh;
+
+    private long peakHourStart;
+
+    @Column(name = "peak_hour_kwh")
+    private long peakHourKwh;
+
+    /**
+     * Returns the day key ({@code yyyyMMdd}, UTC) for the given epoch second.
+     */
+    public static int usageDayOf(long epochSecond) {
+        return usageDayOf(LocalDate.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneOffset.UTC));
+    }
+
+    /**
+     * Returns the day key ({@code yyyyMMdd}) for the given date.
+     */
+    public static int usageDayOf(LocalDate date) {
+        return date.getYear() * 10_000 + date.getMonthValue() * 100 + date.getDayOfMonth();
+    }
+
+    /**
+     * Returns the date of a day key.
+     */
+    public static LocalDate dateOf(int usageDay) {
+        return LocalDate.of(usageDay / 10_000, usageDay / 100 % 100, usageDay % 100);
+    }
+}
@@ -3,10 +3,30 @@ package com.example.energyreportapplication.model.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * A single metered interval.
+ * <p>
+ * Readings are logically partitioned by UTC calendar month through {@code partitionMonth} (e.g. {@code 201904}).
+ * The composite index leads with the meter and the partition so that range queries only touch the months they cover.
+ * </p>
+ */
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_interval_reading_partition", columnList = "reading_type_id, partition_month, start_timestamp")
+})
 @Getter
 @Setter
 public class IntervalReading {
+
+    /**
+     * Upper bound for partition keys (9999-12-31T23:59:59Z), used to clamp open-ended ranges.
+     */
+    private static final long MAX_PARTITION_EPOCH_SECOND = 253402300799L;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -15,9 +35,28 @@ public class IntervalReading {
     @JoinColumn (name = "reading_type_id")
     private ReadingType readingType;
 
+    @Column(name = "partition_month")
+    private int partitionMonth;
+
+    @Column(name = "start_timestamp")
     private long startTimestamp;
 
     private long durationSeconds;
 
     private long readingValue;
+
+    @PrePersist
+    @PreUpdate
+    void assignPartition() {
+        this.partitionMonth = partitionMonthOf(startTimestamp);
+    }
+
+    /**
+     * Returns the monthly partition key ({@code yyyyMM}, UTC) for the given epoch second.
+     */
+    public static int partitionMonthOf(long epochSecond) {
+        long clamped = Math.min(Math.max(epochSecond, 0L), MAX_PARTITION_EPOCH_SECOND);
+        OffsetDateTime dateTime = OffsetDateTime.ofInstant(Instant.ofEpochSecond(clamped), ZoneOffset.UTC);
+        return dateTime.getYear() * 100 + dateTime.getMonthValue();
+    }
 }
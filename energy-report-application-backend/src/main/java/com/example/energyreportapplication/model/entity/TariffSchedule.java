@@ -0,0 +1,42 @@
+package com.example.energyreportapplication.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * Time-of-use rates of a meter, effective from {@code effectiveFrom} until the next schedule of the same meter.
+ * <p>
+ * Hours in {@code [peakStartHour, peakEndHour)} (UTC) are peak hours; a window with a start after its end wraps
+ * around midnight. Saturday and Sunday use the weekend rates.
+ * </p>
+ */
+@Entity
+@Getter
+@Setter
+public class TariffSchedule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "reading_type_id")
+    private ReadingType readingType;
+
+    private long effectiveFrom;
+
+    private int peakStartHour;
+
+    private int peakEndHour;
+
+    private BigDecimal weekdayPeakPrice;
+
+    private BigDecimal weekdayOffPeakPrice;
+
+    private BigDecimal weekendPeakPrice;
+
+    private BigDecimal weekendOffPeakPrice;
+}
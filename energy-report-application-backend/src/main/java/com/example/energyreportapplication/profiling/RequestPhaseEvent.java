@@ -0,0 +1,31 @@
+package com.example.energyreportapplication.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one phase of an ingest or report request.
+ */
+@Name("com.example.energyreportapplication.RequestPhase")
+@Label("Request Phase")
+@Category({"Energy Report", "Requests"})
+@Description("Duration and row count of one phase of an ingest or report request")
+@StackTrace(false)
+class RequestPhaseEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Meter Id")
+    String meterId;
+
+    @Label("Rows")
+    long rowCount;
+}
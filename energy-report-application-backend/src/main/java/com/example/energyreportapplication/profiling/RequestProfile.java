@@ -0,0 +1,107 @@
+package com.example.energyreportapplication.profiling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Times the phases of a single request on the calling thread.
+ * <p>
+ * Each phase becomes a {@link RequestPhaseEvent}. The events are committed when the profile is closed, so that all
+ * of them carry the meter id even if it only becomes known part way through. A request slower than the threshold
+ * also logs its phase breakdown and emits a {@link SlowRequestEvent}. Instances are not thread-safe.
+ * </p>
+ */
+public class RequestProfile implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestProfile.class);
+
+    private final String operation;
+    private final long slowThresholdNanos;
+    private final long startNanos = System.nanoTime();
+    private final List<RequestPhaseEvent> events = new ArrayList<>();
+    private final List<PhaseTiming> timings = new ArrayList<>();
+    private String meterId;
+    private RequestPhaseEvent openEvent;
+    private long openStartNanos;
+
+    RequestProfile(String operation, long slowThresholdNanos) {
+        this.operation = operation;
+        this.slowThresholdNanos = slowThresholdNanos;
+    }
+
+    public void setMeterId(String meterId) {
+        this.meterId = meterId;
+    }
+
+    /**
+     * Starts timing {@code phase}, ending the previous phase without a row count if it is still open.
+     */
+    public void beginPhase(String phase) {
+        if (openEvent != null) {
+            endPhase(0);
+        }
+        openEvent = new RequestPhaseEvent();
+        openEvent.operation = operation;
+        openEvent.phase = phase;
+        openStartNanos = System.nanoTime();
+        openEvent.begin();
+    }
+
+    /**
+     * Ends the open phase, recording the number of rows it handled.
+     */
+    public void endPhase(long rowCount) {
+        if (openEvent == null) {
+            return;
+        }
+        openEvent.end();
+        openEvent.rowCount = rowCount;
+        events.add(openEvent);
+        timings.add(new PhaseTiming(openEvent.phase, System.nanoTime() - openStartNanos, rowCount));
+        openEvent = null;
+    }
+
+    /**
+     * Ends any open phase, commits the phase events and reports the request if it was slow.
+     */
+    @Override
+    public void close() {
+        endPhase(0);
+        long totalNanos = System.nanoTime() - startNanos;
+
+        for (RequestPhaseEvent event : events) {
+            event.meterId = meterId;
+            event.commit();
+        }
+
+        if (totalNanos >= slowThresholdNanos) {
+            String phases = phaseBreakdown();
+            logger.warn("Slow {} for meterId {} took {} ms: {}",
+                    operation, meterId, TimeUnit.NANOSECONDS.toMillis(totalNanos), phases);
+
+            SlowRequestEvent slowRequestEvent = new SlowRequestEvent();
+            slowRequestEvent.operation = operation;
+            slowRequestEvent.meterId = meterId;
+            slowRequestEvent.totalNanos = totalNanos;
+            slowRequestEvent.phases = phases;
+            slowRequestEvent.commit();
+        }
+    }
+
+    /**
+     * Returns the phases in order, e.g. {@code fetch=812ms (96000 rows), group=40ms (24000 rows)}.
+     */
+    String phaseBreakdown() {
+        return timings.stream()
+                .map(timing -> timing.phase() + "=" + TimeUnit.NANOSECONDS.toMillis(timing.nanos()) + "ms ("
+                        + timing.rowCount() + " rows)")
+                .collect(Collectors.joining(", "));
+    }
+
+    private record PhaseTiming(String phase, long nanos, long rowCount) {}
+}
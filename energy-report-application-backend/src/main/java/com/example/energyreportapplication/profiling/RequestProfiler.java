@@ -0,0 +1,30 @@
+package com.example.energyreportapplication.profiling;
+
+import com.example.energyreportapplication.config.ProfilingProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts a {@link RequestProfile} per ingest or report request.
+ */
+@Component
+public class RequestProfiler {
+
+    public static final String INGEST = "ingest";
+    public static final String REPORT = "report";
+
+    private final ProfilingProperties properties;
+
+    @Autowired
+    public RequestProfiler(ProfilingProperties properties) {
+        this.properties = properties;
+    }
+
+    public RequestProfile start(String operation) {
+        long thresholdMillis = properties.getSlowRequestThresholdMillis();
+        return new RequestProfile(operation,
+                thresholdMillis > 0 ? TimeUnit.MILLISECONDS.toNanos(thresholdMillis) : Long.MAX_VALUE);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.energyreportapplication.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event for a request that exceeded {@code profiling.slow-request-threshold-millis}.
+ */
+@Name("com.example.energyreportapplication.SlowRequest")
+@Label("Slow Request")
+@Category({"Energy Report", "Requests"})
+@Description("Ingest or report request that exceeded the slow request threshold, with its phase breakdown")
+@StackTrace(false)
+class SlowRequestEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Meter Id")
+    String meterId;
+
+    @Label("Total Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long totalNanos;
+
+    @Label("Phases")
+    String phases;
+}
@@ -0,0 +1,25 @@
+package com.example.energyreportapplication.repository;
+
+import com.example.energyreportapplication.model.entity.DailyUsageSummary;
+import com.example.energyreportapplication.model.entity.ReadingType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface DailyUsageSummaryRepository extends JpaRepository<DailyUsageSummary, Long> {
+
+    List<DailyUsageSummary> findByReadingTypeAndUsageDayBetween(ReadingType readingType, int fromDay, int toDay);
+
+    @Query("SELECT s FROM DailyUsageSummary s JOIN FETCH s.readingType rt WHERE s.usageDay = :usageDay " +
+            "ORDER BY s.peakHourKwh DESC, rt.meterId")
+    List<DailyUsageSummary> findTopByPeak(@Param("usageDay") int usageDay, Pageable pageable);
+
+    @Query("SELECT s FROM DailyUsageSummary s JOIN FETCH s.readingType rt WHERE s.usageDay = :usageDay " +
+            "ORDER BY s.totalKwh DESC, rt.meterId")
+    List<DailyUsageSummary> findTopByTotal(@Param("usageDay") int usageDay, Pageable pageable);
+}
@@ -1,10 +1,183 @@
 package com.example.energyreportapplication.repository;
 
+import com.example.energyreportapplication.model.dto.ExportRowDto;
+import com.example.energyreportapplication.model.dto.HourlyUsageDto;
+import com.example.energyreportapplication.model.dto.ReadingRangeDto;
 import com.example.energyreportapplication.model.entity.IntervalReading;
+import com.example.energyreportapplication.model.entity.ReadingType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+@Transactional(readOnly = true)
 public interface IntervalReadingRepository extends JpaRepository<IntervalReading, Integer> {
+
+    /**
+     * Rows fetched per round trip by the export cursors.
+     */
+    String EXPORT_FETCH_SIZE = "5000";
+
     List<IntervalReading> findByReadingType_MeterId(String meterId);
+
+    /**
+     * Fetches the readings of a meter whose start lies in {@code [from, to)}, pruning to the partitions covering the range.
+     */
+    default List<IntervalReading> findByMeterIdInRange(String meterId, long from, long to) {
+        if (to <= from) {
+            return List.of();
+        }
+        return findByMeterIdAndPartitionRange(meterId,
+                IntervalReading.partitionMonthOf(from),
+                IntervalReading.partitionMonthOf(to - 1),
+                from,
+                to);
+    }
+
+    @Query("SELECT r FROM IntervalReading r WHERE r.readingType.meterId = :meterId " +
+            "AND r.partitionMonth BETWEEN :fromMonth AND :toMonth " +
+            "AND r.startTimestamp >= :from AND r.startTimestamp < :to")
+    List<IntervalReading> findByMeterIdAndPartitionRange(@Param("meterId") String meterId,
+                                                         @Param("fromMonth") int fromMonth,
+                                                         @Param("toMonth") int toMonth,
+                                                         @Param("from") long from,
+                                                         @Param("to") long to);
+
+    /**
+     * Sums the readings of a meter whose start lies in {@code [from, to)} per UTC hour, in hour order.
+     */
+    default List<HourlyUsageDto> sumByHour(String meterId, long from, long to) {
+        if (to <= from) {
+            return List.of();
+        }
+        return sumByHourInPartitionRange(meterId,
+                IntervalReading.partitionMonthOf(from),
+                IntervalReading.partitionMonthOf(to - 1),
+                from,
+                to);
+    }
+
+    @Query("SELECT new com.example.energyreportapplication.model.dto.HourlyUsageDto(" +
+            "r.startTimestamp - MOD(r.startTimestamp, 3600), SUM(r.readingValue)) FROM IntervalReading r " +
+            "WHERE r.readingType.meterId = :meterId " +
+            "AND r.partitionMonth BETWEEN :fromMonth AND :toMonth " +
+            "AND r.startTimestamp >= :from AND r.startTimestamp < :to " +
+            "GROUP BY r.startTimestamp - MOD(r.startTimestamp, 3600) " +
+            "ORDER BY r.startTimestamp - MOD(r.startTimestamp, 3600)")
+    List<HourlyUsageDto> sumByHourInPartitionRange(@Param("meterId") String meterId,
+                                                   @Param("fromMonth") int fromMonth,
+                                                   @Param("toMonth") int toMonth,
+                                                   @Param("from") long from,
+                                                   @Param("to") long to);
+
+    /**
+     * Counts the readings of a meter whose start lies in {@code [from, to)} and returns the first and last start found.
+     */
+    default ReadingRangeDto findReadingRange(String meterId, long from, long to) {
+        if (to <= from) {
+            return new ReadingRangeDto(0L, null, null);
+        }
+        return findReadingRangeByPartitionRange(meterId,
+                IntervalReading.partitionMonthOf(from),
+                IntervalReading.partitionMonthOf(to - 1),
+                from,
+                to);
+    }
+
+    @Query("SELECT new com.example.energyreportapplication.model.dto.ReadingRangeDto(" +
+            "COUNT(r), MIN(r.startTimestamp), MAX(r.startTimestamp)) FROM IntervalReading r " +
+            "WHERE r.readingType.meterId = :meterId " +
+            "AND r.partitionMonth BETWEEN :fromMonth AND :toMonth " +
+            "AND r.startTimestamp >= :from AND r.startTimestamp < :to")
+    ReadingRangeDto findReadingRangeByPartitionRange(@Param("meterId") String meterId,
+                                                     @Param("fromMonth") int fromMonth,
+                                                     @Param("toMonth") int toMonth,
+                                                     @Param("from") long from,
+                                                     @Param("to") long to);
+
+    /**
+     * Streams the readings of all meters in {@code [from, to)} as unmanaged rows, in index order.
+     * Must be consumed and closed inside a read-only transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT new com.example.energyreportapplication.model.dto.ExportRowDto(" +
+            "rt.meterId, r.startTimestamp, r.durationSeconds, r.readingValue) " +
+            "FROM IntervalReading r JOIN r.readingType rt " +
+            "WHERE r.partitionMonth BETWEEN :fromMonth AND :toMonth " +
+            "AND r.startTimestamp >= :from AND r.startTimestamp < :to " +
+            "ORDER BY rt.id, r.partitionMonth, r.startTimestamp")
+    Stream<ExportRowDto> streamAllForExport(@Param("fromMonth") int fromMonth,
+                                            @Param("toMonth") int toMonth,
+                                            @Param("from") long from,
+                                            @Param("to") long to);
+
+    /**
+     * Streams the readings of the given meters in {@code [from, to)} as unmanaged rows, in index order.
+     * Must be consumed and closed inside a read-only transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT new com.example.energyreportapplication.model.dto.ExportRowDto(" +
+            "rt.meterId, r.startTimestamp, r.durationSeconds, r.readingValue) " +
+            "FROM IntervalReading r JOIN r.readingType rt " +
+            "WHERE rt.meterId IN :meterIds " +
+            "AND r.partitionMonth BETWEEN :fromMonth AND :toMonth " +
+            "AND r.startTimestamp >= :from AND r.startTimestamp < :to " +
+            "ORDER BY rt.id, r.partitionMonth, r.startTimestamp")
+    Stream<ExportRowDto> streamForExport(@Param("meterIds") Collection<String> meterIds,
+                                         @Param("fromMonth") int fromMonth,
+                                         @Param("toMonth") int toMonth,
+                                         @Param("from") long from,
+                                         @Param("to") long to);
+
+    @Query("SELECT DISTINCT r.partitionMonth FROM IntervalReading r WHERE r.readingType = :readingType " +
+            "AND r.durationSeconds < :maxDuration AND r.startTimestamp < :before ORDER BY r.partitionMonth")
+    List<Integer> findRawPartitionMonths(@Param("readingType") ReadingType readingType,
+                                         @Param("maxDuration") long maxDuration,
+                                         @Param("before") long before);
+
+    @Query("SELECT r FROM IntervalReading r WHERE r.readingType = :readingType AND r.partitionMonth = :partitionMonth " +
+            "AND r.durationSeconds < :maxDuration AND r.startTimestamp < :before")
+    List<IntervalReading> findRawReadingsInPartition(@Param("readingType") ReadingType readingType,
+                                                     @Param("partitionMonth") int partitionMonth,
+                                                     @Param("maxDuration") long maxDuration,
+                                                     @Param("before") long before);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM IntervalReading r WHERE r.readingType = :readingType AND r.partitionMonth = :partitionMonth " +
+            "AND r.durationSeconds < :maxDuration AND r.startTimestamp < :before")
+    int deleteRawReadingsInPartition(@Param("readingType") ReadingType readingType,
+                                     @Param("partitionMonth") int partitionMonth,
+                                     @Param("maxDuration") long maxDuration,
+                                     @Param("before") long before);
+
+    @Query("SELECT DISTINCT r.partitionMonth FROM IntervalReading r WHERE r.readingType = :readingType " +
+            "AND r.partitionMonth <= :beforeMonth AND r.startTimestamp < :before ORDER BY r.partitionMonth")
+    List<Integer> findPartitionMonthsBefore(@Param("readingType") ReadingType readingType,
+                                            @Param("beforeMonth") int beforeMonth,
+                                            @Param("before") long before);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM IntervalReading r WHERE r.readingType = :readingType AND r.partitionMonth = :partitionMonth " +
+            "AND r.startTimestamp < :before")
+    int deleteReadingsInPartitionBefore(@Param("readingType") ReadingType readingType,
+                                        @Param("partitionMonth") int partitionMonth,
+                                        @Param("before") long before);
 }
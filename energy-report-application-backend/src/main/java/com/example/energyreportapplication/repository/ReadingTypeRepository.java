@@ -1,10 +1,24 @@
 package com.example.energyreportapplication.repository;
 
 import com.example.energyreportapplication.model.entity.ReadingType;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
+@Transactional(readOnly = true)
 public interface ReadingTypeRepository extends JpaRepository<ReadingType, Long> {
     Optional<ReadingType> findByMeterId(String meterId);
+
+    /**
+     * Locks the meter's row until the surrounding transaction ends, serializing updates of data derived per meter.
+     */
+    @Transactional
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT rt FROM ReadingType rt WHERE rt.id = :id")
+    Optional<ReadingType> lockById(@Param("id") Long id);
 }
@@ -0,0 +1,12 @@
+package com.example.energyreportapplication.repository;
+
+import com.example.energyreportapplication.model.entity.TariffSchedule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface TariffScheduleRepository extends JpaRepository<TariffSchedule, Long> {
+    List<TariffSchedule> findByReadingType_MeterIdOrderByEffectiveFromAscIdAsc(String meterId);
+}
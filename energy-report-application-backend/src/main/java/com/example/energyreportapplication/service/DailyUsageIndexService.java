@@ -0,0 +1,14 @@
+package com.example.energyreportapplication.service;
+
+import com.example.energyreportapplication.model.dto.DailyUsageSummaryDto;
+import com.example.energyreportapplication.model.dto.UsageRanking;
+import com.example.energyreportapplication.model.entity.IntervalReading;
+import com.example.energyreportapplication.model.entity.ReadingType;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DailyUsageIndexService {
+    void updateForReadings(ReadingType readingType, List<IntervalReading> readings);
+    List<DailyUsageSummaryDto> getTopMeters(LocalDate day, UsageRanking ranking, int limit);
+}
@@ -0,0 +1,131 @@
+package com.example.energyreportapplication.service;
+
+import com.example.energyreportapplication.model.dto.DailyUsageSummaryDto;
+import com.example.energyreportapplication.model.dto.HourlyUsageDto;
+import com.example.energyreportapplication.model.dto.UsageRanking;
+import com.example.energyreportapplication.model.entity.DailyUsageSummary;
+import com.example.energyreportapplication.model.entity.IntervalReading;
+import com.example.energyreportapplication.model.entity.ReadingType;
+import com.example.energyreportapplication.repository.DailyUsageSummaryRepository;
+import com.example.energyreportapplication.repository.IntervalReadingRepository;
+import com.example.energyreportapplication.repository.ReadingTypeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains one {@link DailyUsageSummary} per meter and UTC day.
+ * <p>
+ * When a feed is stored, every day it touches is recomputed from hourly sums over all readings of that day, so
+ * overlapping or re-sent feeds and later compaction into hourly rows leave the summaries consistent. Updates for
+ * a meter are serialized by locking its {@link ReadingType} row, which also covers summary rows that do not exist
+ * yet; the lock is held until the ingest transaction commits, so the next ingest of the meter sums its readings.
+ * </p>
+ */
+@Service
+public class DailyUsageIndexServiceImpl implements DailyUsageIndexService {
+
+    private static final long DAY_SECONDS = 86_400L;
+
+    private final IntervalReadingRepository intervalReadingRepository;
+    private final DailyUsageSummaryRepository dailyUsageSummaryRepository;
+    private final ReadingTypeRepository readingTypeRepository;
+
+    @Autowired
+    public DailyUsageIndexServiceImpl(IntervalReadingRepository intervalReadingRepository,
+                                      DailyUsageSummaryRepository dailyUsageSummaryRepository,
+                                      ReadingTypeRepository readingTypeRepository) {
+        this.intervalReadingRepository = intervalReadingRepository;
+        this.dailyUsageSummaryRepository = dailyUsageSummaryRepository;
+        this.readingTypeRepository = readingTypeRepository;
+    }
+
+    @Override
+    @Transactional
+    public void updateForReadings(ReadingType readingType, List<IntervalReading> readings) {
+        if (readings.isEmpty()) {
+            return;
+        }
+        readingTypeRepository.lockById(readingType.getId());
+
+        // Touched days as epoch days; contiguous runs are summed with one query each
+        TreeSet<Long> epochDays = readings.stream()
+                .map(reading -> Math.floorDiv(reading.getStartTimestamp(), DAY_SECONDS))
+                .collect(Collectors.toCollection(TreeSet::new));
+
+        List<HourlyUsageDto> hourlyUsage = new ArrayList<>();
+        Long runStart = null;
+        Long previous = null;
+        for (Long epochDay : epochDays) {
+            if (runStart == null) {
+                runStart = epochDay;
+            } else if (epochDay != previous + 1) {
+                hourlyUsage.addAll(sumDays(readingType, runStart, previous));
+                runStart = epochDay;
+            }
+            previous = epochDay;
+        }
+        hourlyUsage.addAll(sumDays(readingType, runStart, previous));
+
+        Map<Integer, DailyUsageSummary> summaries = dailyUsageSummaryRepository
+                .findByReadingTypeAndUsageDayBetween(readingType,
+                        DailyUsageSummary.usageDayOf(epochDays.first() * DAY_SECONDS),
+                        DailyUsageSummary.usageDayOf(epochDays.last() * DAY_SECONDS)).stream()
+                .collect(Collectors.toMap(DailyUsageSummary::getUsageDay, Function.identity()));
+
+        Map<Integer, DailyUsageSummary> updated = new TreeMap<>();
+        for (HourlyUsageDto usage : hourlyUsage) {
+            long hourStart = usage.hourStart();
+            long kwh = usage.kwh();
+            DailyUsageSummary summary = updated.computeIfAbsent(DailyUsageSummary.usageDayOf(hourStart), day -> {
+                DailyUsageSummary existing = summaries.get(day);
+                DailyUsageSummary reset = existing != null ? existing : new DailyUsageSummary();
+                reset.setReadingType(readingType);
+                reset.setUsageDay(day);
+                reset.setTotalKwh(0);
+                reset.setPeakHourStart(hourStart);
+                reset.setPeakHourKwh(kwh);
+                return reset;
+            });
+            summary.setTotalKwh(summary.getTotalKwh() + kwh);
+            if (kwh > summary.getPeakHourKwh()) {
+                summary.setPeakHourStart(hourStart);
+                summary.setPeakHourKwh(kwh);
+            }
+        }
+        dailyUsageSummaryRepository.saveAll(new ArrayList<>(updated.values()));
+    }
+
+    private List<HourlyUsageDto> sumDays(ReadingType readingType, long firstEpochDay, long lastEpochDay) {
+        return intervalReadingRepository.sumByHour(readingType.getMeterId(),
+                firstEpochDay * DAY_SECONDS, (lastEpochDay + 1) * DAY_SECONDS);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DailyUsageSummaryDto> getTopMeters(LocalDate day, UsageRanking ranking, int limit) {
+        int usageDay = DailyUsageSummary.usageDayOf(day);
+        PageRequest page = PageRequest.of(0, limit);
+        List<DailyUsageSummary> summaries = ranking == UsageRanking.TOTAL
+                ? dailyUsageSummaryRepository.findTopByTotal(usageDay, page)
+                : dailyUsageSummaryRepository.findTopByPeak(usageDay, page);
+        return summaries.stream()
+                .map(summary -> new DailyUsageSummaryDto(
+                        summary.getReadingType().getMeterId(),
+                        DailyUsageSummary.dateOf(summary.getUsageDay()).toString(),
+                        summary.getTotalKwh(),
+                        summary.getPeakHourStart(),
+                        summary.getPeakHourKwh()))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,331 @@
+package com.example.energyreportapplication.service;
+
+import com.example.energyreportapplication.config.FeedParsingProperties;
+import com.example.energyreportapplication.config.IngestAdmissionProperties;
+import com.example.energyreportapplication.exception.PayloadTooLargeException;
+import com.example.energyreportapplication.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admission control for feed ingestion.
+ * <p>
+ * Requests are rejected before the body is deserialized: oversized uploads by their {@code Content-Length}
+ * (413), and bursts beyond the global or per-meter token bucket or beyond the concurrent ingest limit (429).
+ * The meter id is taken from the feed's leading {@code id} element with a bounded streaming peek, so the
+ * per-meter check needs no cooperation from the head-end.
+ * </p>
+ */
+@Component
+public class IngestAdmissionGate {
+
+    private static final Logger logger = LoggerFactory.getLogger(IngestAdmissionGate.class);
+
+    /**
+     * How far into the body the meter id is looked for; feeds carry it before the first entry.
+     */
+    static final int METER_ID_PEEK_BYTES = 16 * 1024;
+
+    static final String REASON_PAYLOAD_TOO_LARGE = "payload_too_large";
+    static final String REASON_GLOBAL_RATE = "global_rate";
+    static final String REASON_METER_RATE = "meter_rate";
+    static final String REASON_CONCURRENCY = "concurrency";
+
+    private final IngestAdmissionProperties properties;
+    private final FeedParsingProperties feedParsingProperties;
+    private final XMLInputFactory xmlInputFactory;
+    private final TokenBucket globalBucket;
+    private final Map<String, TokenBucket> meterBuckets;
+    private final Semaphore ingestSlots;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Map<String, Counter> rejections;
+    private final Counter admitted;
+    private final Timer queueWait;
+
+    @Autowired
+    public IngestAdmissionGate(IngestAdmissionProperties properties,
+                               FeedParsingProperties feedParsingProperties,
+                               XMLInputFactory feedXmlInputFactory,
+                               MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.feedParsingProperties = feedParsingProperties;
+        this.xmlInputFactory = feedXmlInputFactory;
+        this.globalBucket = new TokenBucket(properties.getGlobalBurst(), properties.getGlobalRatePerSecond(), System.nanoTime());
+        this.ingestSlots = new Semaphore(properties.getMaxConcurrentIngests(), true);
+        int maxTrackedMeters = Math.max(1, properties.getMaxTrackedMeters());
+        // Least recently admitted meters are forgotten first; their buckets have had the longest time to refill
+        this.meterBuckets = Collections.synchronizedMap(new LinkedHashMap<String, TokenBucket>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+                return size() > maxTrackedMeters;
+            }
+        });
+
+        this.rejections = Map.of(
+                REASON_PAYLOAD_TOO_LARGE, rejectionCounter(meterRegistry, REASON_PAYLOAD_TOO_LARGE),
+                REASON_GLOBAL_RATE, rejectionCounter(meterRegistry, REASON_GLOBAL_RATE),
+                REASON_METER_RATE, rejectionCounter(meterRegistry, REASON_METER_RATE),
+                REASON_CONCURRENCY, rejectionCounter(meterRegistry, REASON_CONCURRENCY));
+        this.admitted = Counter.builder("ingest.admission.admitted")
+                .description("Ingest requests admitted for parsing")
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("ingest.admission.queue.wait")
+                .description("Time ingest requests waited for a free ingest slot")
+                .register(meterRegistry);
+        meterRegistry.gauge("ingest.admission.queued", queued);
+        meterRegistry.gauge("ingest.admission.in_flight", ingestSlots,
+                slots -> properties.getMaxConcurrentIngests() - slots.availablePermits());
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("ingest.admission.rejected")
+                .description("Ingest requests rejected before parsing")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Admits an ingest request, cheapest and most specific checks first.
+     * <p>
+     * The size is checked against {@code Content-Length}, then the meter id is peeked from the first
+     * {@value #METER_ID_PEEK_BYTES} bytes and checked against its meter's bucket. Only then are a global token and
+     * an ingest slot taken, so a meter over its own limit neither drains the global bucket nor holds a slot. Tokens
+     * taken for a request that is rejected at a later step are refunded. A feed without a recognisable id in the
+     * peek window skips the per-meter check and is left to the parser to reject.
+     * </p>
+     *
+     * @param contentLength declared body size in bytes, or {@code null} when unknown.
+     * @param body          the request body.
+     * @return permit holding the ingest slot and the body to parse; it must be closed once the ingest has finished.
+     */
+    public IngestPermit admit(Long contentLength, InputStream body) {
+        if (!properties.isEnabled()) {
+            return new IngestPermit(body, null);
+        }
+        if (contentLength != null && contentLength > feedParsingProperties.getMaxDocumentBytes()) {
+            throw reject(REASON_PAYLOAD_TOO_LARGE, new PayloadTooLargeException(
+                    "XML document exceeds the limit of " + feedParsingProperties.getMaxDocumentBytes() + " bytes"));
+        }
+
+        BufferedInputStream buffered = new BufferedInputStream(body, METER_ID_PEEK_BYTES);
+        buffered.mark(METER_ID_PEEK_BYTES);
+        String meterId = peekMeterId(new PeekWindowInputStream(buffered, METER_ID_PEEK_BYTES - 1));
+        try {
+            buffered.reset();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to rewind the feed after reading its meter id", e);
+        }
+
+        long now = System.nanoTime();
+        TokenBucket meterBucket = meterId == null ? null : meterBucket(meterId, now);
+        if (meterBucket != null && !meterBucket.tryConsume(now)) {
+            throw reject(REASON_METER_RATE, new TooManyRequestsException("Ingest rate limit exceeded for meterId: " + meterId));
+        }
+        if (!globalBucket.tryConsume(now)) {
+            refund(meterBucket);
+            throw reject(REASON_GLOBAL_RATE, new TooManyRequestsException("Ingest rate limit exceeded"));
+        }
+
+        long waitStart = System.nanoTime();
+        queued.incrementAndGet();
+        boolean acquired;
+        try {
+            acquired = ingestSlots.tryAcquire(properties.getMaxQueueWaitMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        } finally {
+            queued.decrementAndGet();
+            queueWait.record(System.nanoTime() - waitStart, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            refund(meterBucket);
+            refund(globalBucket);
+            throw reject(REASON_CONCURRENCY, new TooManyRequestsException("Too many concurrent ingests"));
+        }
+        admitted.increment();
+        return new IngestPermit(buffered, ingestSlots);
+    }
+
+    private static void refund(TokenBucket bucket) {
+        if (bucket != null) {
+            bucket.refund();
+        }
+    }
+
+    /**
+     * Counts a size rejection raised while parsing, after the request was admitted.
+     */
+    public void recordPayloadTooLarge() {
+        rejections.get(REASON_PAYLOAD_TOO_LARGE).increment();
+    }
+
+    /**
+     * Returns the bucket of a meter, creating it if needed. At most {@code maxTrackedMeters} buckets are kept;
+     * beyond that the least recently used one is dropped in constant time, so a flood of unique meter ids
+     * neither grows the map nor scans it.
+     */
+    private TokenBucket meterBucket(String meterId, long now) {
+        synchronized (meterBuckets) {
+            TokenBucket bucket = meterBuckets.get(meterId);
+            if (bucket == null) {
+                bucket = new TokenBucket(properties.getMeterBurst(), properties.getMeterRatePerSecond(), now);
+                meterBuckets.put(meterId, bucket);
+            }
+            return bucket;
+        }
+    }
+
+    int trackedMeterCount() {
+        return meterBuckets.size();
+    }
+
+    private RuntimeException reject(String reason, RuntimeException exception) {
+        rejections.get(reason).increment();
+        logger.warn("Rejected ingest ({}): {}", reason, exception.getMessage());
+        return exception;
+    }
+
+    /**
+     * Returns the text of the {@code id} element directly under the feed root, or {@code null} if it does not
+     * appear before the first {@code entry} or the end of the peek window.
+     */
+    private String peekMeterId(InputStream window) {
+        XMLStreamReader reader = null;
+        try {
+            reader = xmlInputFactory.createXMLStreamReader(window);
+            int depth = 0;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                    if (depth == 2) {
+                        String name = reader.getLocalName();
+                        if ("id".equals(name)) {
+                            String meterId = reader.getElementText().trim();
+                            return meterId.isEmpty() ? null : meterId;
+                        }
+                        if ("entry".equals(name)) {
+                            return null;
+                        }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    depth--;
+                }
+            }
+            return null;
+        } catch (XMLStreamException e) {
+            return null;
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException ignored) {
+                    // Closing the reader never closes the underlying stream
+                }
+            }
+        }
+    }
+
+    /**
+     * Ingest slot held while a feed is parsed and stored, together with the body to parse.
+     */
+    public static final class IngestPermit implements AutoCloseable {
+
+        private final InputStream body;
+        private Semaphore slots;
+
+        private IngestPermit(InputStream body, Semaphore slots) {
+            this.body = body;
+            this.slots = slots;
+        }
+
+        /**
+         * Returns the request body, replayed from its start.
+         */
+        public InputStream body() {
+            return body;
+        }
+
+        @Override
+        public void close() {
+            if (slots != null) {
+                slots.release();
+                slots = null;
+            }
+        }
+    }
+
+    /**
+     * Exposes at most {@code limit} bytes of the underlying stream and never closes it, so that the peek cannot
+     * read past the buffered mark.
+     */
+    private static final class PeekWindowInputStream extends FilterInputStream {
+
+        private int remaining;
+
+        private PeekWindowInputStream(InputStream in, int limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = super.read(b, off, Math.min(len, remaining));
+            if (n > 0) {
+                remaining -= n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) {
+            return 0;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
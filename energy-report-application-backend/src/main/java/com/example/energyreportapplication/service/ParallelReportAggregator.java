@@ -0,0 +1,154 @@
+package com.example.energyreportapplication.service;
+
+import com.example.energyreportapplication.config.ReadRouting;
+import com.example.energyreportapplication.config.ReportAggregationProperties;
+import com.example.energyreportapplication.exception.ReportGenerationException;
+import com.example.energyreportapplication.model.dto.ReadingRangeDto;
+import com.example.energyreportapplication.model.entity.IntervalReading;
+import com.example.energyreportapplication.repository.IntervalReadingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.stream.Collectors;
+
+/**
+ * Aggregates large report ranges concurrently.
+ * <p>
+ * The requested range is split into chunks on UTC month boundaries, which are always hour-aligned,
+ * so no hour is shared between two chunks. Each chunk is fetched and summed per hour on the dedicated
+ * report aggregation pool, and the partial results are merged in chunk order.
+ * Ranges with fewer readings than the configured threshold are left to the sequential path.
+ * </p>
+ * <p>
+ * Deciding this costs one extra COUNT/MIN/MAX query per report. It is answered from the
+ * {@code idx_interval_reading_partition} index without reading rows, and it also bounds the chunks to the months
+ * that hold data. With a single aggregation thread there is nothing to gain, so the query is skipped.
+ * </p>
+ */
+@Component
+public class ParallelReportAggregator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelReportAggregator.class);
+
+    private final IntervalReadingRepository intervalReadingRepository;
+    private final ThreadPoolExecutor reportAggregationExecutor;
+    private final ReportAggregationProperties aggregationProperties;
+
+    @Autowired
+    public ParallelReportAggregator(IntervalReadingRepository intervalReadingRepository,
+                                    ThreadPoolExecutor reportAggregationExecutor,
+                                    ReportAggregationProperties aggregationProperties) {
+        this.intervalReadingRepository = intervalReadingRepository;
+        this.reportAggregationExecutor = reportAggregationExecutor;
+        this.aggregationProperties = aggregationProperties;
+    }
+
+    /**
+     * Sums the readings of a meter per hour start over {@code [from, to)}.
+     * <p>
+     * Each chunk reads in its own read-only transaction on a pool thread. Callers must not hold a connection
+     * while calling this, otherwise concurrent reports can take every connection while their chunks wait for one.
+     * </p>
+     *
+     * @return the kWh per hour start in ascending order and the number of readings summed,
+     * or empty if the range is below the parallel threshold.
+     */
+    public Optional<HourlyAggregation> aggregateKwhByHour(String meterId, long from, long to) {
+        if (reportAggregationExecutor.getMaximumPoolSize() < 2) {
+            return Optional.empty();
+        }
+        ReadingRangeDto range = intervalReadingRepository.findReadingRange(meterId, from, to);
+        if (range == null || range.readingCount() == null || range.firstStartTimestamp() == null
+                || range.readingCount() < aggregationProperties.getParallelThreshold()) {
+            return Optional.empty();
+        }
+
+        List<TimeChunk> chunks = splitIntoChunks(range.firstStartTimestamp(), range.lastStartTimestamp() + 1);
+        logger.info("Aggregating {} IntervalReadings for meterId {} in {} parallel chunks",
+                range.readingCount(), meterId, chunks.size());
+
+        // Chunks read on the same database as the caller, so a report meant for the cache never uses the replica
+        boolean primaryRequested = ReadRouting.isPrimaryRequested();
+        List<Future<HourlyAggregation>> tasks = chunks.stream()
+                .map(chunk -> reportAggregationExecutor.submit(() ->
+                        ReadRouting.route(primaryRequested, () -> aggregateChunk(meterId, chunk))))
+                .collect(Collectors.toList());
+
+        try {
+            NavigableMap<Long, Long> kwhByHour = new TreeMap<>();
+            long readingCount = 0;
+            for (Future<HourlyAggregation> task : tasks) {
+                HourlyAggregation chunk = join(task, meterId);
+                chunk.kwhByHour().forEach((hour, kwh) -> kwhByHour.merge(hour, kwh, Long::sum));
+                readingCount += chunk.readingCount();
+            }
+            return Optional.of(new HourlyAggregation(kwhByHour, readingCount));
+        } finally {
+            // Queued chunks of a failed report must not keep taking connections
+            tasks.forEach(task -> task.cancel(false));
+        }
+    }
+
+    private HourlyAggregation join(Future<HourlyAggregation> task, String meterId) {
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ReportGenerationException("Parallel aggregation failed for meterId: " + meterId, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReportGenerationException("Interrupted while aggregating report for meterId: " + meterId, e);
+        }
+    }
+
+    private HourlyAggregation aggregateChunk(String meterId, TimeChunk chunk) {
+        List<IntervalReading> readings = intervalReadingRepository.findByMeterIdInRange(meterId, chunk.from(), chunk.to());
+        NavigableMap<Long, Long> kwhByHour = readings.stream()
+                .collect(Collectors.groupingBy(reading -> toHourStart(reading.getStartTimestamp()),
+                        TreeMap::new,
+                        Collectors.summingLong(IntervalReading::getReadingValue)));
+        return new HourlyAggregation(kwhByHour, readings.size());
+    }
+
+    private List<TimeChunk> splitIntoChunks(long from, long to) {
+        int chunkMonths = Math.max(1, aggregationProperties.getChunkMonths());
+        List<TimeChunk> chunks = new ArrayList<>();
+        long chunkStart = from;
+        while (chunkStart < to) {
+            OffsetDateTime monthStart = OffsetDateTime.ofInstant(Instant.ofEpochSecond(chunkStart), ZoneOffset.UTC)
+                    .withDayOfMonth(1)
+                    .truncatedTo(ChronoUnit.DAYS);
+            long chunkEnd = Math.min(monthStart.plusMonths(chunkMonths).toEpochSecond(), to);
+            chunks.add(new TimeChunk(chunkStart, chunkEnd));
+            chunkStart = chunkEnd;
+        }
+        return chunks;
+    }
+
+    private long toHourStart(long timestamp) {
+        return timestamp - Math.floorMod(timestamp, 3600L);
+    }
+
+    /**
+     * Energy per hour start and the number of readings it was summed from.
+     */
+    public record HourlyAggregation(NavigableMap<Long, Long> kwhByHour, long readingCount) {}
+
+    private record TimeChunk(long from, long to) {}
+}
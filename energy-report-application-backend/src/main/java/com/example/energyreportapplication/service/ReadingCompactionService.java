@@ -0,0 +1,8 @@
+package com.example.energyreportapplication.service;
+
+import java.time.Instant;
+
+public interface ReadingCompactionService {
+    int compactRawReadingsBefore(Instant cutoff);
+    int deleteReadingsBefore(Instant cutoff);
+}
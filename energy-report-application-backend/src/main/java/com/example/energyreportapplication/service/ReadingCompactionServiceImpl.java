@@ -0,0 +1,150 @@
+package com.example.energyreportapplication.service;
+
+import com.example.energyreportapplication.config.ReadingCompactionProperties;
+import com.example.energyreportapplication.event.ReadingsExpiredEvent;
+import com.example.energyreportapplication.model.entity.IntervalReading;
+import com.example.energyreportapplication.model.entity.ReadingType;
+import com.example.energyreportapplication.repository.IntervalReadingRepository;
+import com.example.energyreportapplication.repository.ReadingTypeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Downsamples raw sub-hourly readings into hourly aggregates once they are older than the configured retention.
+ * <p>
+ * Compaction runs one meter and one monthly partition at a time, each in its own transaction,
+ * so the work per transaction stays bounded no matter how much history has accumulated.
+ * Readings that already cover a full hour are left untouched, which makes the job idempotent.
+ * </p>
+ * <p>
+ * With an hourly retention configured, the same job then deletes all readings older than it, partition by
+ * partition, so the table stops growing once history reaches that age. Daily usage summaries are kept.
+ * </p>
+ */
+@Service
+public class ReadingCompactionServiceImpl implements ReadingCompactionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadingCompactionServiceImpl.class);
+
+    private static final long HOUR_SECONDS = 3600L;
+
+    private final ReadingTypeRepository readingTypeRepository;
+    private final IntervalReadingRepository intervalReadingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReadingCompactionProperties compactionProperties;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public ReadingCompactionServiceImpl(ReadingTypeRepository readingTypeRepository,
+                                        IntervalReadingRepository intervalReadingRepository,
+                                        TransactionTemplate transactionTemplate,
+                                        ReadingCompactionProperties compactionProperties,
+                                        ApplicationEventPublisher eventPublisher) {
+        this.readingTypeRepository = readingTypeRepository;
+        this.intervalReadingRepository = intervalReadingRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.compactionProperties = compactionProperties;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Scheduled(cron = "${reading.compaction.cron:0 30 2 * * *}", zone = "UTC")
+    public void compactExpiredRawReadings() {
+        if (!compactionProperties.isEnabled()) {
+            return;
+        }
+        Instant cutoff = Instant.now().minus(Duration.ofDays(compactionProperties.getRawRetentionDays()));
+        compactRawReadingsBefore(cutoff);
+
+        if (compactionProperties.getHourlyRetentionDays() > 0) {
+            deleteReadingsBefore(Instant.now().minus(Duration.ofDays(compactionProperties.getHourlyRetentionDays())));
+        }
+    }
+
+    @Override
+    public int compactRawReadingsBefore(Instant cutoff) {
+        // Only whole hours before the cutoff are compacted, so no hour ends up split between raw and aggregated rows
+        long before = toHourStart(cutoff.getEpochSecond());
+        int compacted = 0;
+
+        for (ReadingType readingType : readingTypeRepository.findAll()) {
+            List<Integer> partitionMonths = intervalReadingRepository.findRawPartitionMonths(readingType, HOUR_SECONDS, before);
+            for (Integer partitionMonth : partitionMonths) {
+                Integer removed = transactionTemplate.execute(status -> compactPartition(readingType, partitionMonth, before));
+                compacted += removed == null ? 0 : removed;
+            }
+        }
+
+        logger.info("Compacted {} raw IntervalReadings older than {}", compacted, Instant.ofEpochSecond(before));
+        return compacted;
+    }
+
+    @Override
+    public int deleteReadingsBefore(Instant cutoff) {
+        long before = toHourStart(cutoff.getEpochSecond());
+        int beforeMonth = IntervalReading.partitionMonthOf(before);
+        int deleted = 0;
+
+        for (ReadingType readingType : readingTypeRepository.findAll()) {
+            int deletedForMeter = 0;
+            for (Integer partitionMonth : intervalReadingRepository.findPartitionMonthsBefore(readingType, beforeMonth, before)) {
+                Integer removed = transactionTemplate.execute(status ->
+                        intervalReadingRepository.deleteReadingsInPartitionBefore(readingType, partitionMonth, before));
+                deletedForMeter += removed == null ? 0 : removed;
+            }
+            if (deletedForMeter > 0) {
+                // Cached full-history reports of the meter still include the deleted hours
+                eventPublisher.publishEvent(new ReadingsExpiredEvent(readingType.getMeterId(), deletedForMeter));
+                deleted += deletedForMeter;
+            }
+        }
+
+        logger.info("Deleted {} IntervalReadings older than {}", deleted, Instant.ofEpochSecond(before));
+        return deleted;
+    }
+
+    private int compactPartition(ReadingType readingType, int partitionMonth, long before) {
+        List<IntervalReading> rawReadings = intervalReadingRepository.findRawReadingsInPartition(readingType, partitionMonth, HOUR_SECONDS, before);
+        if (rawReadings.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Long> kwhByHour = rawReadings.stream()
+                .collect(Collectors.groupingBy(reading -> toHourStart(reading.getStartTimestamp()),
+                        TreeMap::new,
+                        Collectors.summingLong(IntervalReading::getReadingValue)));
+
+        List<IntervalReading> hourlyReadings = kwhByHour.entrySet().stream()
+                .map(entry -> {
+                    IntervalReading hourlyReading = new IntervalReading();
+                    hourlyReading.setReadingType(readingType);
+                    hourlyReading.setStartTimestamp(entry.getKey());
+                    hourlyReading.setDurationSeconds(HOUR_SECONDS);
+                    hourlyReading.setReadingValue(entry.getValue());
+                    return hourlyReading;
+                })
+                .collect(Collectors.toList());
+
+        intervalReadingRepository.deleteRawReadingsInPartition(readingType, partitionMonth, HOUR_SECONDS, before);
+        intervalReadingRepository.saveAll(hourlyReadings);
+
+        logger.info("Compacted partition {} for meterId {}: {} raw readings into {} hourly readings",
+                partitionMonth, readingType.getMeterId(), rawReadings.size(), hourlyReadings.size());
+        return rawReadings.size();
+    }
+
+    private long toHourStart(long timestamp) {
+        return timestamp - Math.floorMod(timestamp, HOUR_SECONDS);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.energyreportapplication.service;
+
+import com.example.energyreportapplication.model.dto.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+public interface ReadingExportService {
+    long exportReadings(List<String> meterIds, Long from, Long to, ExportFormat format, OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,122 @@
+package com.example.energyreportapplication.service;
+
+import com.example.energyreportapplication.model.dto.ExportFormat;
+import com.example.energyreportapplication.model.dto.ExportRowDto;
+import com.example.energyreportapplication.model.entity.IntervalReading;
+import com.example.energyreportapplication.repository.IntervalReadingRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Streams raw interval readings to an output stream in constant memory.
+ * <p>
+ * Rows are read through a server-side cursor as unmanaged projections inside a read-only transaction,
+ * so nothing accumulates in the persistence context, and are written to a buffered writer as they arrive.
+ * </p>
+ */
+@Service
+public class ReadingExportServiceImpl implements ReadingExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadingExportServiceImpl.class);
+
+    private static final String CSV_HEADER = "meterId,startTimestamp,durationSeconds,readingValue\n";
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final IntervalReadingRepository intervalReadingRepository;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public ReadingExportServiceImpl(IntervalReadingRepository intervalReadingRepository, ObjectMapper objectMapper) {
+        this.intervalReadingRepository = intervalReadingRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportReadings(List<String> meterIds, Long from, Long to, ExportFormat format, OutputStream outputStream) throws IOException {
+        long rangeFrom = from == null ? 0L : from;
+        long rangeTo = to == null ? Long.MAX_VALUE : to;
+        if (rangeTo <= rangeFrom) {
+            rangeTo = rangeFrom;
+        }
+        int fromMonth = IntervalReading.partitionMonthOf(rangeFrom);
+        int toMonth = IntervalReading.partitionMonthOf(rangeTo - 1);
+
+        long rows;
+        try (Stream<ExportRowDto> stream = (meterIds == null || meterIds.isEmpty())
+                ? intervalReadingRepository.streamAllForExport(fromMonth, toMonth, rangeFrom, rangeTo)
+                : intervalReadingRepository.streamForExport(meterIds, fromMonth, toMonth, rangeFrom, rangeTo)) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+            rows = format == ExportFormat.NDJSON
+                    ? writeNdjson(stream.iterator(), writer)
+                    : writeCsv(stream.iterator(), writer);
+            writer.flush();
+        }
+
+        logger.info("Exported {} IntervalReadings as {} for meterIds: {}", rows, format, meterIds == null || meterIds.isEmpty() ? "all" : meterIds);
+        return rows;
+    }
+
+    private long writeCsv(Iterator<ExportRowDto> rows, Writer writer) throws IOException {
+        long count = 0;
+        writer.write(CSV_HEADER);
+        while (rows.hasNext()) {
+            ExportRowDto row = rows.next();
+            writer.write(escapeCsv(row.meterId()));
+            writer.write(',');
+            writer.write(Long.toString(row.startTimestamp()));
+            writer.write(',');
+            writer.write(Long.toString(row.durationSeconds()));
+            writer.write(',');
+            writer.write(Long.toString(row.readingValue()));
+            writer.write('\n');
+            count++;
+        }
+        return count;
+    }
+
+    private long writeNdjson(Iterator<ExportRowDto> rows, Writer writer) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            while (rows.hasNext()) {
+                ExportRowDto row = rows.next();
+                generator.writeStartObject();
+                generator.writeStringField("meterId", row.meterId());
+                generator.writeNumberField("startTimestamp", row.startTimestamp());
+                generator.writeNumberField("durationSeconds", row.durationSeconds());
+                generator.writeNumberField("readingValue", row.readingValue());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.energyreportapplication.service;
+
+import com.example.energyreportapplication.config.ReportCacheProperties;
+import com.example.energyreportapplication.event.ReadingsExpiredEvent;
+import com.example.energyreportapplication.event.ReadingsIngestedEvent;
+import com.example.energyreportapplication.event.TariffChangedEvent;
+import com.example.energyreportapplication.model.dto.ReportDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded LRU cache of full-history reports, keyed by meterId.
+ * <p>
+ * Every meter has a version that is bumped when new readings for it are committed.
+ * A report is only stored if the version it was computed against is still current,
+ * so a computation that overlaps an ingest can never cache a stale report.
+ * Versions are only created by the ingest, retention and tariff events, so report requests for unknown meter ids
+ * never add entries; the version map grows with the meters that exist, not with the ids requested.
+ * </p>
+ */
+@Component
+public class ReportCache {
+
+    private final Map<String, ReportDto> reports;
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ReportCache(ReportCacheProperties cacheProperties) {
+        int maxEntries = Math.max(0, cacheProperties.getMaxEntries());
+        this.reports = Collections.synchronizedMap(new LinkedHashMap<String, ReportDto>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ReportDto> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    public ReportDto get(String meterId) {
+        return reports.get(meterId);
+    }
+
+    public long currentVersion(String meterId) {
+        AtomicLong version = versions.get(meterId);
+        return version != null ? version.get() : 0L;
+    }
+
+    /**
+     * Stores a report unless readings for the meter were ingested after {@code version} was read.
+     */
+    public void put(String meterId, long version, ReportDto report) {
+        synchronized (reports) {
+            if (currentVersion(meterId) == version) {
+                reports.put(meterId, report);
+            }
+        }
+    }
+
+    /**
+     * Drops the cached report of a meter whose data changed and invalidates computations still running against it.
+     */
+    private void invalidate(String meterId) {
+        synchronized (reports) {
+            versions.computeIfAbsent(meterId, id -> new AtomicLong()).incrementAndGet();
+            reports.remove(meterId);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReadingsIngested(ReadingsIngestedEvent event) {
+        invalidate(event.meterId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReadingsExpired(ReadingsExpiredEvent event) {
+        invalidate(event.meterId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTariffChanged(TariffChangedEvent event) {
+        invalidate(event.meterId());
+    }
+
+    int trackedMeterCount() {
+        return versions.size();
+    }
+}
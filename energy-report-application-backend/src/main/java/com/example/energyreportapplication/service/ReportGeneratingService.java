@@ -1,10 +1,13 @@
 package com.example.energyreportapplication.service;
 
+import com.example.energyreportapplication.model.dto.HourlyReportPageDto;
 import com.example.energyreportapplication.model.dto.ReportDto;
 
 import java.util.List;
 
 public interface ReportGeneratingService {
     ReportDto getReport(String meterId);
+    ReportDto getReport(String meterId, Long from, Long to);
+    HourlyReportPageDto getHourlyReportPage(String meterId, String since, int offset, int limit);
     List<String> getAllMeterIds();
 }
@@ -1,16 +1,24 @@
 package com.example.energyreportapplication.service;
 
+import com.example.energyreportapplication.config.ReadRouting;
 import com.example.energyreportapplication.exception.ReportGenerationException;
 import com.example.energyreportapplication.model.dto.HourlyReportDto;
+import com.example.energyreportapplication.model.dto.HourlyReportPageDto;
 import com.example.energyreportapplication.model.dto.ReportDto;
 import com.example.energyreportapplication.model.entity.IntervalReading;
 import com.example.energyreportapplication.model.entity.ReadingType;
+import com.example.energyreportapplication.profiling.RequestProfile;
+import com.example.energyreportapplication.profiling.RequestProfiler;
 import com.example.energyreportapplication.repository.IntervalReadingRepository;
 import com.example.energyreportapplication.repository.ReadingTypeRepository;
+import com.example.energyreportapplication.repository.TariffScheduleRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.*;
@@ -25,16 +33,113 @@ public class ReportGeneratingServiceImpl implements ReportGeneratingService {
 
     private final ReadingTypeRepository readingTypeRepository;
     private final IntervalReadingRepository intervalReadingRepository;
+    private final ParallelReportAggregator parallelReportAggregator;
+    private final ReportCache reportCache;
+    private final ReportRequestCoalescer reportRequestCoalescer;
+    private final TariffScheduleRepository tariffScheduleRepository;
+    private final RequestProfiler requestProfiler;
+    private final TransactionTemplate readOnlyTransaction;
 
     @Autowired
     public ReportGeneratingServiceImpl(ReadingTypeRepository readingTypeRepository,
-                             IntervalReadingRepository intervalReadingRepository) {
+                             IntervalReadingRepository intervalReadingRepository,
+                             ParallelReportAggregator parallelReportAggregator,
+                             ReportCache reportCache,
+                             ReportRequestCoalescer reportRequestCoalescer,
+                             TariffScheduleRepository tariffScheduleRepository,
+                             RequestProfiler requestProfiler,
+                             PlatformTransactionManager transactionManager) {
         this.readingTypeRepository = readingTypeRepository;
         this.intervalReadingRepository = intervalReadingRepository;
+        this.parallelReportAggregator = parallelReportAggregator;
+        this.reportCache = reportCache;
+        this.reportRequestCoalescer = reportRequestCoalescer;
+        this.tariffScheduleRepository = tariffScheduleRepository;
+        this.requestProfiler = requestProfiler;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
     @Override
     public ReportDto getReport(String meterId) {
+        return getReport(meterId, null, null);
+    }
+
+    @Override
+    public ReportDto getReport(String meterId, Long from, Long to) {
+        if (from != null || to != null) {
+            return reportRequestCoalescer.execute(meterId, from, to, () -> generateReportInTransaction(meterId, from, to));
+        }
+
+        // Full-history reports are served from memory until new readings arrive for the meter
+        ReportDto cachedReport = reportCache.get(meterId);
+        if (cachedReport != null) {
+            return cachedReport;
+        }
+        return reportRequestCoalescer.execute(meterId, null, null, () -> {
+            long version = reportCache.currentVersion(meterId);
+            // A cached report lives until the next ingest, so it must not be read from a lagging replica
+            ReportDto report = ReadRouting.onPrimary(() -> generateReportInTransaction(meterId, null, null));
+            reportCache.put(meterId, version, report);
+            return report;
+        });
+    }
+
+    @Override
+    public HourlyReportPageDto getHourlyReportPage(String meterId, String since, int offset, int limit) {
+        // Pages are cut from the cached full-history report, so paging through it never re-aggregates
+        ReportDto report = getReport(meterId);
+        List<HourlyReportDto> hourlyReports = report.hourlyReports();
+
+        int start = since != null ? firstHourAtOrAfter(hourlyReports, since) : Math.min(offset, hourlyReports.size());
+        int end = (int) Math.min((long) start + limit, hourlyReports.size());
+
+        return new HourlyReportPageDto(meterId, report.totalEnergy(), report.totalCost(), hourlyReports.size(), start,
+                List.copyOf(hourlyReports.subList(start, end)));
+    }
+
+    /**
+     * Returns the index of the first hour not before {@code since}; hour labels sort chronologically.
+     */
+    private int firstHourAtOrAfter(List<HourlyReportDto> hourlyReports, String since) {
+        int low = 0;
+        int high = hourlyReports.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (hourlyReports.get(mid).hour().compareTo(since) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Generates a report, choosing between the parallel and the sequential path first.
+     * <p>
+     * The sequential path runs all queries of the report in a single read-only transaction, so they use one
+     * connection and one database rather than one transaction per repository call. The parallel path runs before
+     * that transaction is opened: its chunks each read in their own transaction, and the caller must not hold a
+     * connection while it waits for them. Only the reading type and tariff lookups then share a transaction.
+     * </p>
+     */
+    private ReportDto generateReportInTransaction(String meterId, Long from, Long to) {
+        try (RequestProfile profile = requestProfiler.start(RequestProfiler.REPORT)) {
+            profile.setMeterId(meterId);
+            profile.beginPhase("fetch");
+
+            // Parallel chunks are fetched and grouped concurrently, so their grouping is part of the fetch phase
+            Optional<ParallelReportAggregator.HourlyAggregation> parallelAggregation = parallelReportAggregator
+                    .aggregateKwhByHour(meterId, from == null ? 0L : from, to == null ? Long.MAX_VALUE : to);
+            parallelAggregation.ifPresent(aggregation -> profile.endPhase(aggregation.readingCount()));
+
+            return readOnlyTransaction.execute(status -> generateReport(profile, meterId, from, to, parallelAggregation));
+        }
+    }
+
+    private ReportDto generateReport(RequestProfile profile, String meterId, Long from, Long to,
+                                     Optional<ParallelReportAggregator.HourlyAggregation> parallelAggregation) {
         // Fetch ReadingType
         ReadingType readingType = readingTypeRepository.findByMeterId(meterId)
                 .orElseThrow(() -> {
@@ -42,36 +147,66 @@ public class ReportGeneratingServiceImpl implements ReportGeneratingService {
                     return new ReportGenerationException("No ReadingType found for meterId: " + meterId);
                 });
 
-        // Fetch IntervalReadings
-        List<IntervalReading> intervalReadings = intervalReadingRepository.findByReadingType_MeterId(meterId);
+        NavigableMap<Long, Long> kwhByHour;
+        if (parallelAggregation.isPresent()) {
+            kwhByHour = parallelAggregation.get().kwhByHour();
+        } else {
+            List<IntervalReading> intervalReadings = fetchReadings(meterId, from, to);
+            profile.endPhase(intervalReadings.size());
 
-        if (intervalReadings.isEmpty()) {
+            profile.beginPhase("group");
+            kwhByHour = groupByHour(intervalReadings);
+            profile.endPhase(kwhByHour.size());
+        }
+
+        if (kwhByHour.isEmpty()) {
             logger.error("No IntervalReading found for meterId: {}", meterId);
             throw new ReportGenerationException("No IntervalReading found for meterId: " + meterId);
         }
 
-        logger.info("Found {} IntervalReadings for meterId: {}", intervalReadings.size(), meterId);
+        profile.beginPhase("aggregate");
 
-        // Group IntervalReadings by Hour Start
-        Map<Long, List<IntervalReading>> IntervalReadingMapByHour = intervalReadings.stream()
-                .collect(Collectors.groupingBy(intervalReading -> toHourStart(intervalReading.getStartTimestamp())));
+        // Resolve each hour's price through the meter's precompiled tariff table
+        TariffPriceTable priceTable = TariffPriceTable.compile(readingType.getKwhPrice(),
+                tariffScheduleRepository.findByReadingType_MeterIdOrderByEffectiveFromAscIdAsc(meterId));
 
         // Aggregate Hourly Reports
-        List<HourlyReportDto> hourlyReports = IntervalReadingMapByHour.entrySet().stream()
-                .map(entry -> aggregateHourlyData(entry.getKey(), entry.getValue(), readingType.getKwhPrice()))
-                .sorted(Comparator.comparing(HourlyReportDto::hour))
+        List<HourlyReportDto> hourlyReports = kwhByHour.entrySet().stream()
+                .map(entry -> aggregateHourlyData(entry.getKey(), entry.getValue(), priceTable.priceAt(entry.getKey())))
                 .collect(Collectors.toList());
 
         logger.info("Successfully aggregated {} hourly reports for meterId: {}", hourlyReports.size(), meterId);
 
         // Calculate Total Report
         ReportDto report = calculateTotalReport(meterId, hourlyReports);
+        profile.endPhase(hourlyReports.size());
         logger.info("Successfully generated total report for meterId {}", meterId);
 
         return report;
     }
 
+    private List<IntervalReading> fetchReadings(String meterId, Long from, Long to) {
+        // Fetch IntervalReadings, pruned to the partitions of the requested range if one is given
+        List<IntervalReading> intervalReadings = (from == null && to == null)
+                ? intervalReadingRepository.findByReadingType_MeterId(meterId)
+                : intervalReadingRepository.findByMeterIdInRange(meterId,
+                        from == null ? 0L : from,
+                        to == null ? Long.MAX_VALUE : to);
+
+        logger.info("Found {} IntervalReadings for meterId: {}", intervalReadings.size(), meterId);
+        return intervalReadings;
+    }
+
+    private NavigableMap<Long, Long> groupByHour(List<IntervalReading> intervalReadings) {
+        // Sum IntervalReadings by Hour Start
+        return intervalReadings.stream()
+                .collect(Collectors.groupingBy(intervalReading -> toHourStart(intervalReading.getStartTimestamp()),
+                        TreeMap::new,
+                        Collectors.summingLong(IntervalReading::getReadingValue)));
+    }
+
     @Override
+    @Transactional(readOnly = true)
     public List<String> getAllMeterIds() {
         return readingTypeRepository.findAll()
                 .stream()
@@ -90,11 +225,7 @@ public class ReportGeneratingServiceImpl implements ReportGeneratingService {
         return offsetDateTime.toLocalDate().toString() + " " + String.format("%02d:00", offsetDateTime.getHour());
     }
 
-    private HourlyReportDto aggregateHourlyData(long startHour, List<IntervalReading> readings, BigDecimal kwhPrice) {
-        long totalKwh = readings.stream()
-                .mapToLong(IntervalReading::getReadingValue)
-                .sum();
-
+    private HourlyReportDto aggregateHourlyData(long startHour, long totalKwh, BigDecimal kwhPrice) {
         BigDecimal cost = kwhPrice.multiply(BigDecimal.valueOf(totalKwh));
         String formattedStartHour = formatHour(startHour);
 
@@ -0,0 +1,101 @@
+package com.example.energyreportapplication.service;
+
+import com.example.energyreportapplication.config.ReportCoalescingProperties;
+import com.example.energyreportapplication.event.ReadingsIngestedEvent;
+import com.example.energyreportapplication.event.TariffChangedEvent;
+import com.example.energyreportapplication.exception.ReportGenerationException;
+import com.example.energyreportapplication.model.dto.ReportDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight coalescing of concurrent, identical report requests.
+ * <p>
+ * The first caller for a meter and range computes the report on its own thread; callers that arrive
+ * while it is in flight wait for the same future instead of querying again, so database work scales with
+ * the number of distinct requests rather than the number of callers. Once new readings for a meter are
+ * committed, its in-flight computations are superseded: callers already waiting still get that result,
+ * but any later caller starts a fresh computation that sees the new data. Waiting callers give up after
+ * {@code report.coalescing.max-wait-millis}, and a computation that fails in any way, errors included, fails its
+ * waiting callers too.
+ * </p>
+ */
+@Component
+public class ReportRequestCoalescer {
+
+    private final ConcurrentMap<ReportRequestKey, CompletableFuture<ReportDto>> inFlight = new ConcurrentHashMap<>();
+    private final ReportCoalescingProperties properties;
+
+    @Autowired
+    public ReportRequestCoalescer(ReportCoalescingProperties properties) {
+        this.properties = properties;
+    }
+
+    public ReportDto execute(String meterId, Long from, Long to, Supplier<ReportDto> computation) {
+        ReportRequestKey key = new ReportRequestKey(meterId, from, to);
+        CompletableFuture<ReportDto> future = new CompletableFuture<>();
+        CompletableFuture<ReportDto> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return await(existing, meterId);
+        }
+
+        try {
+            ReportDto report = computation.get();
+            future.complete(report);
+            return report;
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * Detaches all in-flight computations for the meter so that later callers do not join a stale result.
+     */
+    public void supersede(String meterId) {
+        inFlight.forEach((key, future) -> {
+            if (key.meterId().equals(meterId)) {
+                inFlight.remove(key, future);
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReadingsIngested(ReadingsIngestedEvent event) {
+        supersede(event.meterId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTariffChanged(TariffChangedEvent event) {
+        supersede(event.meterId());
+    }
+
+    private ReportDto await(CompletableFuture<ReportDto> future, String meterId) {
+        try {
+            return future.get(properties.getMaxWaitMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new ReportGenerationException("In-flight report failed for meterId: " + meterId, e.getCause());
+        } catch (TimeoutException e) {
+            throw new ReportGenerationException("Timed out waiting for the in-flight report for meterId: " + meterId, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReportGenerationException("Interrupted while waiting for the report for meterId: " + meterId, e);
+        }
+    }
+
+    private record ReportRequestKey(String meterId, Long from, Long to) {}
+}
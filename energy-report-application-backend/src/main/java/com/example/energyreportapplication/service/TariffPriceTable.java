@@ -0,0 +1,93 @@
+package com.example.energyreportapplication.service;
+
+import com.example.energyreportapplication.model.entity.TariffSchedule;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Precompiled price lookup for the hours of a meter.
+ * <p>
+ * Each effective-dated schedule is expanded once into an array holding the price of every hour of the week,
+ * so resolving the price of an hour is a binary search over the few schedule start times plus an array read,
+ * with no calendar arithmetic or rule evaluation per hour. Hours before the first schedule, or all hours
+ * if the meter has no schedule, use the flat price of its reading type.
+ * </p>
+ */
+public final class TariffPriceTable {
+
+    private static final int HOURS_PER_DAY = 24;
+    private static final int HOURS_PER_WEEK = 7 * HOURS_PER_DAY;
+    // 1970-01-01T00:00Z was a Thursday, the fourth day of a week starting on Monday
+    private static final long EPOCH_HOUR_OF_WEEK = 3 * HOURS_PER_DAY;
+    private static final int SATURDAY = 5;
+
+    private final long[] segmentStarts;
+    private final BigDecimal[][] weekPrices;
+
+    private TariffPriceTable(long[] segmentStarts, BigDecimal[][] weekPrices) {
+        this.segmentStarts = segmentStarts;
+        this.weekPrices = weekPrices;
+    }
+
+    /**
+     * Compiles the lookup table from the flat price and the schedules of a meter, sorted by {@code effectiveFrom}.
+     * Of several schedules starting at the same time, the last one wins.
+     */
+    public static TariffPriceTable compile(BigDecimal flatPrice, List<TariffSchedule> schedules) {
+        List<Long> starts = new ArrayList<>();
+        List<BigDecimal[]> prices = new ArrayList<>();
+
+        BigDecimal[] flatWeek = new BigDecimal[HOURS_PER_WEEK];
+        Arrays.fill(flatWeek, flatPrice);
+        starts.add(Long.MIN_VALUE);
+        prices.add(flatWeek);
+
+        for (TariffSchedule schedule : schedules) {
+            BigDecimal[] week = expandWeek(schedule);
+            int last = starts.size() - 1;
+            if (starts.get(last) == schedule.getEffectiveFrom()) {
+                prices.set(last, week);
+            } else {
+                starts.add(schedule.getEffectiveFrom());
+                prices.add(week);
+            }
+        }
+
+        return new TariffPriceTable(starts.stream().mapToLong(Long::longValue).toArray(),
+                prices.toArray(new BigDecimal[0][]));
+    }
+
+    /**
+     * Returns the price per kWh for the hour starting at the given epoch second.
+     */
+    public BigDecimal priceAt(long hourStart) {
+        int index = Arrays.binarySearch(segmentStarts, hourStart);
+        int segment = index >= 0 ? index : -index - 2;
+        int hourOfWeek = (int) Math.floorMod(Math.floorDiv(hourStart, 3600L) + EPOCH_HOUR_OF_WEEK, HOURS_PER_WEEK);
+        return weekPrices[segment][hourOfWeek];
+    }
+
+    private static BigDecimal[] expandWeek(TariffSchedule schedule) {
+        BigDecimal[] week = new BigDecimal[HOURS_PER_WEEK];
+        for (int hourOfWeek = 0; hourOfWeek < HOURS_PER_WEEK; hourOfWeek++) {
+            boolean weekend = hourOfWeek / HOURS_PER_DAY >= SATURDAY;
+            boolean peak = isPeak(hourOfWeek % HOURS_PER_DAY, schedule.getPeakStartHour(), schedule.getPeakEndHour());
+            if (weekend) {
+                week[hourOfWeek] = peak ? schedule.getWeekendPeakPrice() : schedule.getWeekendOffPeakPrice();
+            } else {
+                week[hourOfWeek] = peak ? schedule.getWeekdayPeakPrice() : schedule.getWeekdayOffPeakPrice();
+            }
+        }
+        return week;
+    }
+
+    private static boolean isPeak(int hourOfDay, int peakStartHour, int peakEndHour) {
+        if (peakStartHour <= peakEndHour) {
+            return hourOfDay >= peakStartHour && hourOfDay < peakEndHour;
+        }
+        return hourOfDay >= peakStartHour || hourOfDay < peakEndHour;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.energyreportapplication.service;
+
+import com.example.energyreportapplication.model.dto.TariffScheduleDto;
+
+import java.util.List;
+
+public interface TariffService {
+    List<TariffScheduleDto> getSchedules(String meterId);
+    TariffScheduleDto addSchedule(String meterId, TariffScheduleDto schedule);
+}
@@ -0,0 +1,96 @@
+package com.example.energyreportapplication.service;
+
+import com.example.energyreportapplication.event.TariffChangedEvent;
+import com.example.energyreportapplication.exception.InvalidTariffException;
+import com.example.energyreportapplication.exception.MissingDataException;
+import com.example.energyreportapplication.model.dto.TariffScheduleDto;
+import com.example.energyreportapplication.model.entity.ReadingType;
+import com.example.energyreportapplication.model.entity.TariffSchedule;
+import com.example.energyreportapplication.repository.ReadingTypeRepository;
+import com.example.energyreportapplication.repository.TariffScheduleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+public class TariffServiceImpl implements TariffService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TariffServiceImpl.class);
+
+    private final ReadingTypeRepository readingTypeRepository;
+    private final TariffScheduleRepository tariffScheduleRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public TariffServiceImpl(ReadingTypeRepository readingTypeRepository,
+                             TariffScheduleRepository tariffScheduleRepository,
+                             ApplicationEventPublisher eventPublisher) {
+        this.readingTypeRepository = readingTypeRepository;
+        this.tariffScheduleRepository = tariffScheduleRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TariffScheduleDto> getSchedules(String meterId) {
+        return tariffScheduleRepository.findByReadingType_MeterIdOrderByEffectiveFromAscIdAsc(meterId)
+                .stream()
+                .map(this::toDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public TariffScheduleDto addSchedule(String meterId, TariffScheduleDto schedule) {
+        validateSchedule(schedule);
+
+        ReadingType readingType = readingTypeRepository.findByMeterId(meterId)
+                .orElseThrow(() -> new MissingDataException("No ReadingType found for meterId: " + meterId));
+
+        TariffSchedule tariffSchedule = new TariffSchedule();
+        tariffSchedule.setReadingType(readingType);
+        tariffSchedule.setEffectiveFrom(schedule.effectiveFrom());
+        tariffSchedule.setPeakStartHour(schedule.peakStartHour());
+        tariffSchedule.setPeakEndHour(schedule.peakEndHour());
+        tariffSchedule.setWeekdayPeakPrice(schedule.weekdayPeakPrice());
+        tariffSchedule.setWeekdayOffPeakPrice(schedule.weekdayOffPeakPrice());
+        tariffSchedule.setWeekendPeakPrice(schedule.weekendPeakPrice());
+        tariffSchedule.setWeekendOffPeakPrice(schedule.weekendOffPeakPrice());
+
+        TariffSchedule saved = tariffScheduleRepository.save(tariffSchedule);
+        eventPublisher.publishEvent(new TariffChangedEvent(meterId));
+
+        logger.info("Added tariff schedule effective from {} for meterId: {}", schedule.effectiveFrom(), meterId);
+        return toDto(saved);
+    }
+
+    private void validateSchedule(TariffScheduleDto schedule) {
+        if (schedule.peakStartHour() < 0 || schedule.peakStartHour() > 24
+                || schedule.peakEndHour() < 0 || schedule.peakEndHour() > 24) {
+            throw new InvalidTariffException("Peak hours must be between 0 and 24");
+        }
+        boolean missingPrice = Stream.of(schedule.weekdayPeakPrice(), schedule.weekdayOffPeakPrice(),
+                        schedule.weekendPeakPrice(), schedule.weekendOffPeakPrice())
+                .anyMatch(price -> price == null || price.signum() < 0);
+        if (missingPrice) {
+            throw new InvalidTariffException("All four tariff prices are required and must not be negative");
+        }
+    }
+
+    private TariffScheduleDto toDto(TariffSchedule schedule) {
+        return new TariffScheduleDto(schedule.getEffectiveFrom(),
+                schedule.getPeakStartHour(),
+                schedule.getPeakEndHour(),
+                schedule.getWeekdayPeakPrice(),
+                schedule.getWeekdayOffPeakPrice(),
+                schedule.getWeekendPeakPrice(),
+                schedule.getWeekendOffPeakPrice());
+    }
+}
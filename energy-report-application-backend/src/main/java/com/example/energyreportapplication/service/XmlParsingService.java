@@ -1,5 +1,16 @@
 package com.example.energyreportapplication.service;
 
+import com.example.energyreportapplication.xmlmodel.Feed;
+
+import java.io.IOException;
+import java.io.InputStream;
+
 public interface XmlParsingService {
     void parseAndStore (String xmlData);
+    void parseAndStore (InputStream xmlData);
+
+    /**
+     * Deserializes a feed from a stream exactly as {@link #parseAndStore(InputStream)} does, without storing it.
+     */
+    Feed readFeed (InputStream xmlData) throws IOException;
 }
@@ -1,10 +1,15 @@
 package com.example.energyreportapplication.service;
 
+import com.example.energyreportapplication.config.FeedParsingProperties;
+import com.example.energyreportapplication.event.ReadingsIngestedEvent;
 import com.example.energyreportapplication.exception.DatabaseOperationException;
 import com.example.energyreportapplication.exception.MissingDataException;
+import com.example.energyreportapplication.exception.PayloadTooLargeException;
 import com.example.energyreportapplication.exception.XmlParsingException;
 import com.example.energyreportapplication.model.entity.IntervalReading;
 import com.example.energyreportapplication.model.entity.ReadingType;
+import com.example.energyreportapplication.profiling.RequestProfile;
+import com.example.energyreportapplication.profiling.RequestProfiler;
 import com.example.energyreportapplication.repository.IntervalReadingRepository;
 import com.example.energyreportapplication.repository.ReadingTypeRepository;
 import com.example.energyreportapplication.xmlmodel.*;
@@ -13,9 +18,12 @@ import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Objects;
@@ -29,59 +37,133 @@ public class XmlParsingServiceImpl implements XmlParsingService {
     private final ReadingTypeRepository readingTypeRepository;
     private final IntervalReadingRepository intervalReadingRepository;
     private final XmlMapper xmlMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FeedParsingProperties feedParsingProperties;
+    private final DailyUsageIndexService dailyUsageIndexService;
+    private final RequestProfiler requestProfiler;
 
     @Autowired
     public XmlParsingServiceImpl(ReadingTypeRepository readingTypeRepository,
                                  IntervalReadingRepository intervalReadingRepository,
-                                 XmlMapper xmlMapper) {
+                                 XmlMapper xmlMapper,
+                                 ApplicationEventPublisher eventPublisher,
+                                 FeedParsingProperties feedParsingProperties,
+                                 DailyUsageIndexService dailyUsageIndexService,
+                                 RequestProfiler requestProfiler) {
         this.readingTypeRepository = readingTypeRepository;
         this.intervalReadingRepository = intervalReadingRepository;
         this.xmlMapper = xmlMapper;
+        this.eventPublisher = eventPublisher;
+        this.feedParsingProperties = feedParsingProperties;
+        this.dailyUsageIndexService = dailyUsageIndexService;
+        this.requestProfiler = requestProfiler;
     }
 
 
     @Override
     @Transactional
     public void parseAndStore(String xmlData) {
+        parseAndStore(() -> xmlMapper.readValue(xmlData, Feed.class));
+    }
+
+    @Override
+    @Transactional
+    public void parseAndStore(InputStream xmlData) {
+        parseAndStore(() -> readFeed(xmlData));
+    }
+
+    @Override
+    public Feed readFeed(InputStream xmlData) throws IOException {
+        // Parse straight from the request body, aborting as soon as the document grows beyond the limit
+        return xmlMapper.readValue(new SizeLimitedInputStream(xmlData, feedParsingProperties.getMaxDocumentBytes()), Feed.class);
+    }
+
+    private void parseAndStore(FeedReader feedReader) {
         String meterId = null;
-        try {
-            Feed feed = xmlMapper.readValue(xmlData, Feed.class);
+        try (RequestProfile profile = requestProfiler.start(RequestProfiler.INGEST)) {
+            profile.beginPhase("deserialize");
+            Feed feed = feedReader.read();
+            profile.endPhase(0);
+
+            profile.beginPhase("validate");
             validateFeed(feed);
 
             meterId = feed.getId();
+            profile.setMeterId(meterId);
 
             ReadingTypeXml readingTypeXml = extractReadingType(feed);
             IntervalBlock intervalBlock = extractIntervalBlock(feed);
+            int readingCount = validateReadingCount(intervalBlock);
+            profile.endPhase(readingCount);
 
+            profile.beginPhase("map");
             ReadingType readingType = findOrCreateReadingType(meterId,
                     readingTypeXml.getFlowDirection(),
                     readingTypeXml.getKWhPrice(),
                     readingTypeXml.getReadingUnit());
 
             List<IntervalReading> intervalReadings = mapIntervalReadings(intervalBlock, readingType);
+            profile.endPhase(intervalReadings.size());
+
+            profile.beginPhase("persist");
             intervalReadingRepository.saveAll(intervalReadings);
+            dailyUsageIndexService.updateForReadings(readingType, intervalReadings);
+            profile.endPhase(intervalReadings.size());
+            eventPublisher.publishEvent(new ReadingsIngestedEvent(meterId, intervalReadings.size()));
 
             logger.info("Successfully parsed and stored XML data for meterId: {}", meterId);
         } catch (MissingDataException e) {
             logger.error("XML validation failed: {}", e.getMessage(), e);
             throw e;
+        } catch (PayloadTooLargeException e) {
+            logger.warn("Rejected XML data: {}", e.getMessage());
+            throw e;
         } catch (JsonProcessingException e) {
+            rethrowIfPayloadTooLarge(e);
             String errorMessage = "Failed to parse XML data for meterId: " + meterId;
             logger.error(errorMessage, e);
             throw new XmlParsingException(errorMessage, e);
         } catch (Exception e) {
+            rethrowIfPayloadTooLarge(e);
             String errorMessage = "Unexpected error while parsing XML for meterId: " + meterId;
             logger.error(errorMessage, e);
             throw new RuntimeException(errorMessage, e);
         }
     }
 
+    /**
+     * Jackson wraps exceptions thrown while it reads nested beans, so a size limit hit by the request stream
+     * mid-document arrives as the cause of a {@link JsonProcessingException}.
+     */
+    private void rethrowIfPayloadTooLarge(Exception e) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof PayloadTooLargeException payloadTooLargeException) {
+                logger.warn("Rejected XML data: {}", payloadTooLargeException.getMessage());
+                throw payloadTooLargeException;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface FeedReader {
+        Feed read() throws IOException;
+    }
+
     private void validateFeed(Feed feed) {
         if (feed == null || feed.getId() == null || feed.getEntries() == null || feed.getEntries().isEmpty()) {
             throw new MissingDataException("Feed or its required fields (id, entries) are missing");
         }
     }
 
+    private int validateReadingCount(IntervalBlock intervalBlock) {
+        int readingCount = intervalBlock.getIntervalReadings() == null ? 0 : intervalBlock.getIntervalReadings().size();
+        if (readingCount > feedParsingProperties.getMaxReadingsPerRequest()) {
+            throw new PayloadTooLargeException("XML document contains " + readingCount
+                    + " readings, exceeding the limit of " + feedParsingProperties.getMaxReadingsPerRequest());
+        }
+        return readingCount;
+    }
+
     private ReadingTypeXml extractReadingType(Feed feed) {
         return feed.getEntries().stream()
                 .map(entry -> entry.getContent().getReadingType())
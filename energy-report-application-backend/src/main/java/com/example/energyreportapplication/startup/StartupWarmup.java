@@ -0,0 +1,143 @@
+package com.example.energyreportapplication.startup;
+
+import com.example.energyreportapplication.config.WarmupProperties;
+import com.example.energyreportapplication.exception.ReportGenerationException;
+import com.example.energyreportapplication.model.dto.HourlyReportDto;
+import com.example.energyreportapplication.model.dto.ReportDto;
+import com.example.energyreportapplication.repository.IntervalReadingRepository;
+import com.example.energyreportapplication.repository.ReadingTypeRepository;
+import com.example.energyreportapplication.service.ReportGeneratingService;
+import com.example.energyreportapplication.service.XmlParsingService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Warms up the ingest and report paths before the application accepts traffic.
+ * <p>
+ * Spring Boot only switches the readiness state to {@code ACCEPTING_TRAFFIC} after all application runners
+ * have completed, so {@code /actuator/health/readiness} keeps answering {@code OUT_OF_SERVICE} until this
+ * warmup is done. The warmup parses synthetic feeds from a stream through the same size-limited path as
+ * {@code POST /api/data}, serializes synthetic reports
+ * with the JSON {@link ObjectMapper}, runs the report queries once to initialize the JPA query plans,
+ * and computes the reports of the configured hot meters so that they are served from memory.
+ * Nothing is written to the database.
+ * </p>
+ */
+@Component
+public class StartupWarmup implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupWarmup.class);
+
+    private static final String WARMUP_METER_ID = "warmup";
+
+    private final XmlParsingService xmlParsingService;
+    private final ObjectMapper objectMapper;
+    private final ReadingTypeRepository readingTypeRepository;
+    private final IntervalReadingRepository intervalReadingRepository;
+    private final ReportGeneratingService reportGeneratingService;
+    private final WarmupProperties warmupProperties;
+
+    @Autowired
+    public StartupWarmup(XmlParsingService xmlParsingService,
+                         ObjectMapper objectMapper,
+                         ReadingTypeRepository readingTypeRepository,
+                         IntervalReadingRepository intervalReadingRepository,
+                         ReportGeneratingService reportGeneratingService,
+                         WarmupProperties warmupProperties) {
+        this.xmlParsingService = xmlParsingService;
+        this.objectMapper = objectMapper;
+        this.readingTypeRepository = readingTypeRepository;
+        this.intervalReadingRepository = intervalReadingRepository;
+        this.reportGeneratingService = reportGeneratingService;
+        this.warmupProperties = warmupProperties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!warmupProperties.isEnabled()) {
+            logger.info("Startup warmup is disabled");
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            warmUpMappers();
+            warmUpQueries();
+            preloadHotMeterReports();
+        } catch (Exception e) {
+            // A failed warmup only costs latency, it must never keep the instance from becoming ready
+            logger.warn("Startup warmup failed, continuing without it", e);
+        }
+        logger.info("Startup warmup completed in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void warmUpMappers() throws IOException {
+        long start = System.nanoTime();
+        byte[] feedXml = syntheticFeed(warmupProperties.getReadingsPerFeed()).getBytes(StandardCharsets.UTF_8);
+        ReportDto report = syntheticReport(warmupProperties.getReadingsPerFeed());
+
+        for (int i = 0; i < warmupProperties.getIterations(); i++) {
+            xmlParsingService.readFeed(new ByteArrayInputStream(feedXml));
+            objectMapper.writeValueAsBytes(report);
+        }
+        logger.info("Warmed up XML and JSON mappers with {} iterations in {} ms",
+                warmupProperties.getIterations(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void warmUpQueries() {
+        long start = System.nanoTime();
+        readingTypeRepository.findByMeterId(WARMUP_METER_ID);
+        intervalReadingRepository.findByReadingType_MeterId(WARMUP_METER_ID);
+        intervalReadingRepository.findByMeterIdInRange(WARMUP_METER_ID, 0L, 3600L);
+        intervalReadingRepository.findReadingRange(WARMUP_METER_ID, 0L, 3600L);
+        logger.info("Warmed up report queries in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void preloadHotMeterReports() {
+        for (String meterId : warmupProperties.getHotMeterIds()) {
+            long start = System.nanoTime();
+            try {
+                reportGeneratingService.getReport(meterId);
+                logger.info("Preloaded report for meterId {} in {} ms", meterId, (System.nanoTime() - start) / 1_000_000);
+            } catch (ReportGenerationException e) {
+                logger.warn("Skipping report preload for meterId {}: {}", meterId, e.getMessage());
+            }
+        }
+    }
+
+    private String syntheticFeed(int readings) {
+        StringBuilder xml = new StringBuilder()
+                .append("<feed><id>").append(WARMUP_METER_ID).append("</id><title type=\"text\">Warmup</title>")
+                .append("<entry><content><ReadingType><flowDirection>1</flowDirection><kWhPrice>0.08</kWhPrice>")
+                .append("<readingUnit>kWh</readingUnit></ReadingType></content></entry>")
+                .append("<entry><content><IntervalBlock>");
+        for (int i = 0; i < readings; i++) {
+            xml.append("<IntervalReading><timePeriod><duration>900</duration><start>")
+                    .append(1555484400L + i * 900L)
+                    .append("</start></timePeriod><value>")
+                    .append(i % 50)
+                    .append("</value></IntervalReading>");
+        }
+        return xml.append("</IntervalBlock></content></entry></feed>").toString();
+    }
+
+    private ReportDto syntheticReport(int hours) {
+        List<HourlyReportDto> hourlyReports = new ArrayList<>(hours);
+        for (int i = 0; i < hours; i++) {
+            hourlyReports.add(new HourlyReportDto(String.format("2019-04-17 %02d:00", i % 24), i, BigDecimal.valueOf(i, 2)));
+        }
+        return new ReportDto(WARMUP_METER_ID, hours, BigDecimal.TEN, hourlyReports);
+    }
+}
@@ -11,7 +11,6 @@ import java.util.List;
 @Setter
 public class Feed {
     private String id;
-    private String title;
     @JacksonXmlElementWrapper(useWrapping = false)
     @JacksonXmlProperty(localName = "entry")
     private List<Entry> entries;
@@ -0,0 +1,109 @@
+package com.example.energyreportapplication.config;
+
+import com.example.energyreportapplication.repository.ReadingTypeRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Uses a second in-memory database as the stand-in replica. Hibernate only creates the schema on the primary,
+ * so the test copies it to the replica and then seeds each database with a meter the other one does not have.
+ */
+@SpringBootTest(properties = {
+        "replica.datasource.url=jdbc:h2:mem:replica",
+        "replica.datasource.username=sa",
+        "replica.datasource.password=",
+        "replica.datasource.hikari.pool-name=replica",
+        "warmup.enabled=false"
+})
+class DataSourceRoutingTests {
+
+    private static final String PRIMARY_METER_ID = "primary-only";
+    private static final String REPLICA_METER_ID = "replica-only";
+    private static final String INSERT_READING_TYPE =
+            "INSERT INTO reading_type (meter_id, flow_direction, kwh_price, reading_unit) VALUES (?, 1, 0.10, 'kWh')";
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReadingTypeRepository readingTypeRepository;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replicaDataSource;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void seedDatabases() {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        Integer replicaTables = replica.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = 'PUBLIC'", Integer.class);
+        if (replicaTables == null || replicaTables == 0) {
+            primary.queryForList("SCRIPT NODATA NOPASSWORDS NOSETTINGS", String.class).stream()
+                    .filter(statement -> !statement.startsWith("--") && !statement.startsWith("CREATE USER"))
+                    .forEach(replica::execute);
+        }
+        primary.update(INSERT_READING_TYPE, PRIMARY_METER_ID);
+        replica.update(INSERT_READING_TYPE, REPLICA_METER_ID);
+    }
+
+    @AfterEach
+    void clearDatabases() {
+        primary.update("DELETE FROM reading_type WHERE meter_id = ?", PRIMARY_METER_ID);
+        replica.update("DELETE FROM reading_type WHERE meter_id = ?", REPLICA_METER_ID);
+    }
+
+    @Test
+    void readOnlyTransaction_readFromReplica() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            assertTrue(readingTypeRepository.findByMeterId(REPLICA_METER_ID).isPresent());
+            assertTrue(readingTypeRepository.findByMeterId(PRIMARY_METER_ID).isEmpty());
+            assertEquals(1, replicaDataSource.getHikariPoolMXBean().getActiveConnections());
+            assertEquals(0, primaryDataSource.getHikariPoolMXBean().getActiveConnections());
+        });
+    }
+
+    @Test
+    void readOnlyTransactionOnPrimary_readFromPrimary() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        ReadRouting.onPrimary(() -> transactionTemplate.execute(status -> {
+            assertTrue(readingTypeRepository.findByMeterId(PRIMARY_METER_ID).isPresent());
+            assertTrue(readingTypeRepository.findByMeterId(REPLICA_METER_ID).isEmpty());
+            return null;
+        }));
+    }
+
+    @Test
+    void readWriteTransaction_readFromPrimary() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            assertTrue(readingTypeRepository.findByMeterId(PRIMARY_METER_ID).isPresent());
+            assertTrue(readingTypeRepository.findByMeterId(REPLICA_METER_ID).isEmpty());
+            assertEquals(1, primaryDataSource.getHikariPoolMXBean().getActiveConnections());
+            assertEquals(0, replicaDataSource.getHikariPoolMXBean().getActiveConnections());
+        });
+    }
+}
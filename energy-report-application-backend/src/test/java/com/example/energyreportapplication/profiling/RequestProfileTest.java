@@ -0,0 +1,50 @@
+package com.example.energyreportapplication.profiling;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestProfileTest {
+
+    @Test
+    void phaseBreakdown_phasesInOrder_listNamesAndRowCounts() {
+        RequestProfile profile = new RequestProfile(RequestProfiler.REPORT, Long.MAX_VALUE);
+
+        profile.beginPhase("fetch");
+        profile.endPhase(96);
+        profile.beginPhase("group");
+        profile.endPhase(24);
+
+        assertTrue(profile.phaseBreakdown().matches("fetch=\\d+ms \\(96 rows\\), group=\\d+ms \\(24 rows\\)"));
+    }
+
+    @Test
+    void beginPhase_previousPhaseOpen_endPreviousPhaseWithoutRows() {
+        RequestProfile profile = new RequestProfile(RequestProfiler.INGEST, Long.MAX_VALUE);
+
+        profile.beginPhase("deserialize");
+        profile.beginPhase("validate");
+        profile.endPhase(10);
+
+        assertTrue(profile.phaseBreakdown().matches("deserialize=\\d+ms \\(0 rows\\), validate=\\d+ms \\(10 rows\\)"));
+    }
+
+    @Test
+    void close_openPhase_endedAndRecorded() {
+        RequestProfile profile = new RequestProfile(RequestProfiler.INGEST, 0);
+        profile.setMeterId("12345");
+        profile.beginPhase("persist");
+
+        assertDoesNotThrow(profile::close);
+        assertTrue(profile.phaseBreakdown().startsWith("persist="));
+    }
+
+    @Test
+    void endPhase_noOpenPhase_ignored() {
+        RequestProfile profile = new RequestProfile(RequestProfiler.REPORT, Long.MAX_VALUE);
+
+        profile.endPhase(5);
+
+        assertEquals("", profile.phaseBreakdown());
+    }
+}
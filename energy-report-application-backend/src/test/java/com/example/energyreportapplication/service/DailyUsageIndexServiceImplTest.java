@@ -0,0 +1,180 @@
+package com.example.energyreportapplication.service;
+
+import com.example.energyreportapplication.model.dto.DailyUsageSummaryDto;
+import com.example.energyreportapplication.model.dto.HourlyUsageDto;
+import com.example.energyreportapplication.model.dto.UsageRanking;
+import com.example.energyreportapplication.model.entity.DailyUsageSummary;
+import com.example.energyreportapplication.model.entity.IntervalReading;
+import com.example.energyreportapplication.model.entity.ReadingType;
+import com.example.energyreportapplication.repository.DailyUsageSummaryRepository;
+import com.example.energyreportapplication.repository.IntervalReadingRepository;
+import com.example.energyreportapplication.repository.ReadingTypeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DailyUsageIndexServiceImplTest {
+
+    // 2019-04-01T00:00:00Z
+    private static final long APRIL_FIRST = 1554076800L;
+    private static final long DAY = 86_400L;
+
+    @InjectMocks
+    private DailyUsageIndexServiceImpl dailyUsageIndexService;
+
+    @Mock
+    private IntervalReadingRepository intervalReadingRepository;
+
+    @Mock
+    private DailyUsageSummaryRepository dailyUsageSummaryRepository;
+
+    @Mock
+    private ReadingTypeRepository readingTypeRepository;
+
+    private final ReadingType readingType = new ReadingType();
+
+    @BeforeEach
+    void setUp() {
+        readingType.setId(1L);
+        readingType.setMeterId("12345");
+    }
+
+    private IntervalReading reading(long startTimestamp, long value) {
+        IntervalReading reading = new IntervalReading();
+        reading.setReadingType(readingType);
+        reading.setStartTimestamp(startTimestamp);
+        reading.setDurationSeconds(900L);
+        reading.setReadingValue(value);
+        return reading;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<DailyUsageSummary> savedSummaries() {
+        ArgumentCaptor<List<DailyUsageSummary>> captor = ArgumentCaptor.forClass(List.class);
+        verify(dailyUsageSummaryRepository).saveAll(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    void updateForReadings_readingsOverTwoDays_summariseEachWholeDay() {
+        List<IntervalReading> ingested = List.of(reading(APRIL_FIRST + 3600L, 15), reading(APRIL_FIRST + DAY, 7));
+        when(intervalReadingRepository.sumByHour("12345", APRIL_FIRST, APRIL_FIRST + 2 * DAY)).thenReturn(List.of(
+                new HourlyUsageDto(APRIL_FIRST, 10L),
+                new HourlyUsageDto(APRIL_FIRST + 3600L, 15L),
+                new HourlyUsageDto(APRIL_FIRST + DAY, 7L)));
+        when(dailyUsageSummaryRepository.findByReadingTypeAndUsageDayBetween(readingType, 20190401, 20190402)).thenReturn(List.of());
+
+        dailyUsageIndexService.updateForReadings(readingType, ingested);
+
+        List<DailyUsageSummary> saved = savedSummaries();
+        assertEquals(2, saved.size());
+        assertEquals(20190401, saved.get(0).getUsageDay());
+        assertEquals(25L, saved.get(0).getTotalKwh());
+        assertEquals(APRIL_FIRST + 3600L, saved.get(0).getPeakHourStart());
+        assertEquals(15L, saved.get(0).getPeakHourKwh());
+        assertEquals(20190402, saved.get(1).getUsageDay());
+        assertEquals(7L, saved.get(1).getTotalKwh());
+        assertEquals(APRIL_FIRST + DAY, saved.get(1).getPeakHourStart());
+    }
+
+    @Test
+    void updateForReadings_anyReadings_lockMeterBeforeSumming() {
+        List<IntervalReading> ingested = List.of(reading(APRIL_FIRST, 5));
+        when(intervalReadingRepository.sumByHour("12345", APRIL_FIRST, APRIL_FIRST + DAY))
+                .thenReturn(List.of(new HourlyUsageDto(APRIL_FIRST, 5L)));
+
+        dailyUsageIndexService.updateForReadings(readingType, ingested);
+
+        InOrder inOrder = inOrder(readingTypeRepository, intervalReadingRepository, dailyUsageSummaryRepository);
+        inOrder.verify(readingTypeRepository).lockById(1L);
+        inOrder.verify(intervalReadingRepository).sumByHour("12345", APRIL_FIRST, APRIL_FIRST + DAY);
+        inOrder.verify(dailyUsageSummaryRepository).saveAll(anyList());
+    }
+
+    @Test
+    void updateForReadings_daysApart_sumOnlyTouchedDays() {
+        long later = APRIL_FIRST + 30 * DAY;
+        List<IntervalReading> ingested = List.of(reading(APRIL_FIRST, 5), reading(later, 6));
+        when(intervalReadingRepository.sumByHour("12345", APRIL_FIRST, APRIL_FIRST + DAY))
+                .thenReturn(List.of(new HourlyUsageDto(APRIL_FIRST, 5L)));
+        when(intervalReadingRepository.sumByHour("12345", later, later + DAY))
+                .thenReturn(List.of(new HourlyUsageDto(later, 6L)));
+
+        dailyUsageIndexService.updateForReadings(readingType, ingested);
+
+        List<DailyUsageSummary> saved = savedSummaries();
+        assertEquals(List.of(20190401, 20190501), saved.stream().map(DailyUsageSummary::getUsageDay).toList());
+        verify(intervalReadingRepository, times(2)).sumByHour(anyString(), anyLong(), anyLong());
+    }
+
+    @Test
+    void updateForReadings_existingSummary_recomputedInPlace() {
+        DailyUsageSummary existing = new DailyUsageSummary();
+        existing.setReadingType(readingType);
+        existing.setUsageDay(20190401);
+        existing.setTotalKwh(3L);
+        existing.setPeakHourStart(APRIL_FIRST);
+        existing.setPeakHourKwh(3L);
+        List<IntervalReading> ingested = List.of(reading(APRIL_FIRST + 900L, 4));
+        when(intervalReadingRepository.sumByHour("12345", APRIL_FIRST, APRIL_FIRST + DAY))
+                .thenReturn(List.of(new HourlyUsageDto(APRIL_FIRST, 7L)));
+        when(dailyUsageSummaryRepository.findByReadingTypeAndUsageDayBetween(readingType, 20190401, 20190401))
+                .thenReturn(List.of(existing));
+
+        dailyUsageIndexService.updateForReadings(readingType, ingested);
+
+        assertSame(existing, savedSummaries().get(0));
+        assertEquals(7L, existing.getTotalKwh());
+        assertEquals(7L, existing.getPeakHourKwh());
+    }
+
+    @Test
+    void updateForReadings_equalHours_earliestHourIsPeak() {
+        List<IntervalReading> ingested = List.of(reading(APRIL_FIRST, 9), reading(APRIL_FIRST + 7200L, 9));
+        when(intervalReadingRepository.sumByHour("12345", APRIL_FIRST, APRIL_FIRST + DAY)).thenReturn(List.of(
+                new HourlyUsageDto(APRIL_FIRST, 9L),
+                new HourlyUsageDto(APRIL_FIRST + 7200L, 9L)));
+        when(dailyUsageSummaryRepository.findByReadingTypeAndUsageDayBetween(readingType, 20190401, 20190401)).thenReturn(List.of());
+
+        dailyUsageIndexService.updateForReadings(readingType, ingested);
+
+        assertEquals(APRIL_FIRST, savedSummaries().get(0).getPeakHourStart());
+    }
+
+    @Test
+    void updateForReadings_noReadings_nothingQueried() {
+        dailyUsageIndexService.updateForReadings(readingType, List.of());
+
+        verifyNoInteractions(intervalReadingRepository, dailyUsageSummaryRepository, readingTypeRepository);
+    }
+
+    @Test
+    void getTopMeters_byTotal_mapsSummariesInOrder() {
+        DailyUsageSummary summary = new DailyUsageSummary();
+        summary.setReadingType(readingType);
+        summary.setUsageDay(20190401);
+        summary.setTotalKwh(25L);
+        summary.setPeakHourStart(APRIL_FIRST + 3600L);
+        summary.setPeakHourKwh(15L);
+        when(dailyUsageSummaryRepository.findTopByTotal(20190401, PageRequest.of(0, 5))).thenReturn(List.of(summary));
+
+        List<DailyUsageSummaryDto> top = dailyUsageIndexService.getTopMeters(LocalDate.of(2019, 4, 1), UsageRanking.TOTAL, 5);
+
+        assertEquals(List.of(new DailyUsageSummaryDto("12345", "2019-04-01", 25L, APRIL_FIRST + 3600L, 15L)), top);
+        verify(dailyUsageSummaryRepository, never()).findTopByPeak(anyInt(), any());
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.energyreportapplication.service;
+
+import com.ctc.wstx.stax.WstxInputFactory;
+import com.example.energyreportapplication.config.FeedParsingProperties;
+import com.example.energyreportapplication.config.IngestAdmissionProperties;
+import com.example.energyreportapplication.exception.PayloadTooLargeException;
+import com.example.energyreportapplication.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IngestAdmissionGateTest {
+
+    private final IngestAdmissionProperties properties = new IngestAdmissionProperties();
+    private final FeedParsingProperties feedParsingProperties = new FeedParsingProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        properties.setGlobalBurst(100);
+        properties.setGlobalRatePerSecond(0.001);
+        properties.setMeterBurst(1);
+        properties.setMeterRatePerSecond(0.001);
+        properties.setMaxConcurrentIngests(1);
+        properties.setMaxQueueWaitMillis(0);
+    }
+
+    private IngestAdmissionGate gate() {
+        return new IngestAdmissionGate(properties, feedParsingProperties, new WstxInputFactory(), meterRegistry);
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.counter("ingest.admission.rejected", "reason", reason).count();
+    }
+
+    private static InputStream feed(String meterId) {
+        String xml = "<feed xmlns=\"http://www.w3.org/2005/Atom\"><id>" + meterId + "</id><entry/></feed>";
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void admit_contentLengthAboveLimit_throwPayloadTooLargeException() {
+        feedParsingProperties.setMaxDocumentBytes(1024);
+        IngestAdmissionGate gate = gate();
+
+        assertThrows(PayloadTooLargeException.class, () -> gate.admit(1025L, feed("meter-1")));
+        assertEquals(1, rejected("payload_too_large"));
+    }
+
+    @Test
+    void admit_globalBucketEmpty_throwTooManyRequestsException() {
+        properties.setGlobalBurst(1);
+        IngestAdmissionGate gate = gate();
+
+        gate.admit(null, feed("meter-1")).close();
+
+        assertThrows(TooManyRequestsException.class, () -> gate.admit(null, feed("meter-2")));
+        assertEquals(1, rejected("global_rate"));
+    }
+
+    @Test
+    void admit_noFreeSlot_throwTooManyRequestsExceptionUntilReleased() {
+        IngestAdmissionGate gate = gate();
+
+        IngestAdmissionGate.IngestPermit permit = gate.admit(null, feed("meter-1"));
+        assertThrows(TooManyRequestsException.class, () -> gate.admit(null, feed("meter-2")));
+        assertEquals(1, rejected("concurrency"));
+
+        permit.close();
+        // The rejected request's meter token was refunded, so it is admitted once a slot is free
+        assertDoesNotThrow(() -> gate.admit(null, feed("meter-2")).close());
+    }
+
+    @Test
+    void admit_disabled_neverRejects() {
+        properties.setEnabled(false);
+        feedParsingProperties.setMaxDocumentBytes(1);
+        IngestAdmissionGate gate = gate();
+
+        assertDoesNotThrow(() -> gate.admit(Long.MAX_VALUE, feed("meter-1")).close());
+        assertDoesNotThrow(() -> gate.admit(null, feed("meter-1")).close());
+    }
+
+    @Test
+    void admit_meterBucketEmpty_throwTooManyRequestsExceptionForThatMeterOnly() {
+        IngestAdmissionGate gate = gate();
+
+        gate.admit(null, feed("meter-1")).close();
+
+        assertThrows(TooManyRequestsException.class, () -> gate.admit(null, feed("meter-1")));
+        assertDoesNotThrow(() -> gate.admit(null, feed("meter-2")).close());
+        assertEquals(1, rejected("meter_rate"));
+    }
+
+    @Test
+    void admit_oneMeterFloods_otherMeterStillAdmitted() {
+        properties.setGlobalBurst(5);
+        IngestAdmissionGate gate = gate();
+
+        gate.admit(null, feed("noisy-meter")).close();
+        for (int i = 0; i < 50; i++) {
+            assertThrows(TooManyRequestsException.class, () -> gate.admit(null, feed("noisy-meter")));
+        }
+
+        assertDoesNotThrow(() -> gate.admit(null, feed("quiet-meter")).close());
+        assertEquals(50, rejected("meter_rate"));
+        assertEquals(0, rejected("global_rate"));
+    }
+
+    @Test
+    void admit_floodOfUniqueMeterIds_keepTrackedMetersBounded() {
+        properties.setGlobalBurst(1000);
+        properties.setMaxTrackedMeters(10);
+        IngestAdmissionGate gate = gate();
+
+        for (int i = 0; i < 500; i++) {
+            gate.admit(null, feed("meter-" + i)).close();
+        }
+
+        assertEquals(10, gate.trackedMeterCount());
+    }
+
+    @Test
+    void admit_trackedMetersFull_evictLeastRecentlyUsedMeter() {
+        properties.setGlobalBurst(1000);
+        properties.setMaxTrackedMeters(2);
+        IngestAdmissionGate gate = gate();
+
+        gate.admit(null, feed("meter-1")).close();
+        gate.admit(null, feed("meter-2")).close();
+        // meter-1 is used again, so meter-2 is the one dropped when meter-3 arrives
+        assertThrows(TooManyRequestsException.class, () -> gate.admit(null, feed("meter-1")));
+        gate.admit(null, feed("meter-3")).close();
+
+        assertThrows(TooManyRequestsException.class, () -> gate.admit(null, feed("meter-1")));
+        assertDoesNotThrow(() -> gate.admit(null, feed("meter-2")).close());
+    }
+
+    @Test
+    void admit_meterRejected_slotNotHeld() {
+        IngestAdmissionGate gate = gate();
+        gate.admit(null, feed("meter-1")).close();
+
+        assertThrows(TooManyRequestsException.class, () -> gate.admit(null, feed("meter-1")));
+
+        // The only slot is still free for another meter
+        assertDoesNotThrow(() -> gate.admit(null, feed("meter-2")).close());
+        assertEquals(0, rejected("concurrency"));
+    }
+
+    @Test
+    void admit_admitted_bodyReplaysCompleteFeed() throws IOException {
+        IngestAdmissionGate gate = gate();
+        byte[] body = feed("meter-1").readAllBytes();
+
+        try (IngestAdmissionGate.IngestPermit permit = gate.admit(null, new ByteArrayInputStream(body))) {
+            assertArrayEquals(body, permit.body().readAllBytes());
+        }
+    }
+
+    @Test
+    void admit_noMeterId_passesBodyThroughWithoutMeterLimit() throws IOException {
+        IngestAdmissionGate gate = gate();
+        byte[] body = "not xml at all".getBytes(StandardCharsets.UTF_8);
+
+        try (IngestAdmissionGate.IngestPermit first = gate.admit(null, new ByteArrayInputStream(body))) {
+            assertArrayEquals(body, first.body().readAllBytes());
+        }
+        try (IngestAdmissionGate.IngestPermit second = gate.admit(null, new ByteArrayInputStream(body))) {
+            assertArrayEquals(body, second.body().readAllBytes());
+        }
+    }
+}
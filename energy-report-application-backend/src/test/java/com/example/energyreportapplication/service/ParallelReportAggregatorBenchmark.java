@@ -0,0 +1,135 @@
+package com.example.energyreportapplication.service;
+
+import com.example.energyreportapplication.config.ReportAggregationProperties;
+import com.example.energyreportapplication.model.entity.IntervalReading;
+import com.example.energyreportapplication.repository.IntervalReadingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Scaling benchmark for {@link ParallelReportAggregator}, not part of the regular test run.
+ * <p>
+ * Seeds its own in-memory H2 database with three years of 5-minute readings for one meter and aggregates them
+ * through the real repository, once with a single range query and then with 2, 4, ... aggregation threads
+ * up to the size of the configured report aggregation pool, which is capped by the connection pool.
+ * A single thread is the sequential path, because the aggregator steps aside when it cannot run chunks in parallel.
+ * Prints the median time and speedup per thread count.
+ * Run it with {@code mvn test -Dtest=ParallelReportAggregatorBenchmark}.
+ * </p>
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:benchmark",
+        "spring.jpa.show-sql=false",
+        "warmup.enabled=false"
+})
+public class ParallelReportAggregatorBenchmark {
+
+    private static final String METER_ID = "benchmark";
+    private static final long START = 1546300800L; // 2019-01-01T00:00:00Z
+    private static final int READINGS = 3 * 365 * 24 * 12;
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASURED_ITERATIONS = 7;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IntervalReadingRepository intervalReadingRepository;
+
+    @Autowired
+    private ThreadPoolExecutor reportAggregationExecutor;
+
+    @BeforeEach
+    void seedReadings() {
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM interval_reading", Long.class) > 0) {
+            return;
+        }
+        jdbcTemplate.update("INSERT INTO reading_type (meter_id, flow_direction, kwh_price, reading_unit) VALUES (?, 1, 0.10, 'kWh')",
+                METER_ID);
+        Long readingTypeId = jdbcTemplate.queryForObject("SELECT id FROM reading_type WHERE meter_id = ?", Long.class, METER_ID);
+
+        List<Long> startTimestamps = LongStream.range(0, READINGS).map(i -> START + i * 300L).boxed().toList();
+        jdbcTemplate.batchUpdate("INSERT INTO interval_reading (reading_type_id, partition_month, start_timestamp, duration_seconds, reading_value) " +
+                        "VALUES (?, ?, ?, 300, ?)",
+                startTimestamps, 10_000, (statement, startTimestamp) -> {
+                    statement.setLong(1, readingTypeId);
+                    statement.setInt(2, IntervalReading.partitionMonthOf(startTimestamp));
+                    statement.setLong(3, startTimestamp);
+                    statement.setLong(4, Math.floorMod(startTimestamp / 300, 17L));
+                });
+    }
+
+    @Test
+    void scalingByThreadCount() {
+        NavigableMap<Long, Long> expected = sequential();
+        long sequentialMillis = measure(this::sequential);
+        System.out.printf("%nParallel report aggregation, %,d readings in H2%n", READINGS);
+        System.out.printf("%-12s %12s %10s%n", "mode", "median (ms)", "speedup");
+        System.out.printf("%-12s %12d %10s%n", "sequential", sequentialMillis, "1.00x");
+
+        ReportAggregationProperties properties = new ReportAggregationProperties();
+        properties.setParallelThreshold(0);
+        for (int threads : threadCounts()) {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+            try {
+                ParallelReportAggregator aggregator = new ParallelReportAggregator(intervalReadingRepository, executor, properties);
+                assertEquals(expected, aggregator.aggregateKwhByHour(METER_ID, 0L, Long.MAX_VALUE).orElseThrow().kwhByHour());
+                long parallelMillis = measure(() -> aggregator.aggregateKwhByHour(METER_ID, 0L, Long.MAX_VALUE));
+                System.out.printf("%-12s %12d %9.2fx%n", threads + " threads", parallelMillis,
+                        (double) sequentialMillis / Math.max(1, parallelMillis));
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    /**
+     * The sequential path: one range query for the whole history, grouped per hour on the calling thread.
+     */
+    private NavigableMap<Long, Long> sequential() {
+        return intervalReadingRepository.findByMeterIdInRange(METER_ID, 0L, Long.MAX_VALUE).stream()
+                .collect(Collectors.groupingBy(reading -> reading.getStartTimestamp() - Math.floorMod(reading.getStartTimestamp(), 3600L),
+                        TreeMap::new,
+                        Collectors.summingLong(IntervalReading::getReadingValue)));
+    }
+
+    private static long measure(Runnable run) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            run.run();
+        }
+        long[] millis = new long[MEASURED_ITERATIONS];
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            run.run();
+            millis[i] = (System.nanoTime() - start) / 1_000_000;
+        }
+        Arrays.sort(millis);
+        return millis[MEASURED_ITERATIONS / 2];
+    }
+
+    private List<Integer> threadCounts() {
+        int maxThreads = reportAggregationExecutor.getMaximumPoolSize();
+        List<Integer> counts = new ArrayList<>();
+        for (int count = 2; count < maxThreads; count *= 2) {
+            counts.add(count);
+        }
+        counts.add(Math.max(2, maxThreads));
+        return counts;
+    }
+}
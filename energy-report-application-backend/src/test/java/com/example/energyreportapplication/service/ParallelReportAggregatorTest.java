@@ -0,0 +1,137 @@
+package com.example.energyreportapplication.service;
+
+import com.example.energyreportapplication.config.ReadRouting;
+import com.example.energyreportapplication.config.ReportAggregationProperties;
+import com.example.energyreportapplication.model.dto.ReadingRangeDto;
+import com.example.energyreportapplication.model.entity.IntervalReading;
+import com.example.energyreportapplication.repository.IntervalReadingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ParallelReportAggregatorTest {
+
+    private static final String METER_ID = "12345";
+
+    // 2019-03-31T23:00:00Z and 2019-04-01T00:00:00Z, on either side of a chunk boundary
+    private static final long LAST_HOUR_OF_MARCH = 1554073200L;
+    private static final long FIRST_HOUR_OF_APRIL = 1554076800L;
+
+    @Mock
+    private IntervalReadingRepository intervalReadingRepository;
+
+    private final ReportAggregationProperties aggregationProperties = new ReportAggregationProperties();
+    private ThreadPoolExecutor executor;
+    private ParallelReportAggregator parallelReportAggregator;
+
+    @BeforeEach
+    void setUp() {
+        aggregationProperties.setParallelThreshold(3);
+        executor = executor(2);
+        parallelReportAggregator = new ParallelReportAggregator(intervalReadingRepository, executor, aggregationProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void aggregateKwhByHour_belowThreshold_returnEmpty() {
+        when(intervalReadingRepository.findReadingRange(METER_ID, 0L, Long.MAX_VALUE))
+                .thenReturn(new ReadingRangeDto(2L, LAST_HOUR_OF_MARCH, FIRST_HOUR_OF_APRIL));
+
+        Optional<ParallelReportAggregator.HourlyAggregation> result = parallelReportAggregator.aggregateKwhByHour(METER_ID, 0L, Long.MAX_VALUE);
+
+        assertTrue(result.isEmpty());
+        verify(intervalReadingRepository, never()).findByMeterIdInRange(anyString(), anyLong(), anyLong());
+    }
+
+    @Test
+    void aggregateKwhByHour_aboveThreshold_mergeMonthlyChunksInOrder() {
+        when(intervalReadingRepository.findReadingRange(METER_ID, 0L, Long.MAX_VALUE))
+                .thenReturn(new ReadingRangeDto(4L, LAST_HOUR_OF_MARCH, FIRST_HOUR_OF_APRIL + 900));
+        when(intervalReadingRepository.findByMeterIdInRange(METER_ID, LAST_HOUR_OF_MARCH, FIRST_HOUR_OF_APRIL))
+                .thenReturn(List.of(reading(LAST_HOUR_OF_MARCH, 100), reading(LAST_HOUR_OF_MARCH + 900, 50)));
+        when(intervalReadingRepository.findByMeterIdInRange(METER_ID, FIRST_HOUR_OF_APRIL, FIRST_HOUR_OF_APRIL + 901))
+                .thenReturn(List.of(reading(FIRST_HOUR_OF_APRIL, 20), reading(FIRST_HOUR_OF_APRIL + 900, 5)));
+
+        ParallelReportAggregator.HourlyAggregation aggregation = parallelReportAggregator.aggregateKwhByHour(METER_ID, 0L, Long.MAX_VALUE).orElseThrow();
+        NavigableMap<Long, Long> kwhByHour = aggregation.kwhByHour();
+
+        assertEquals(List.of(LAST_HOUR_OF_MARCH, FIRST_HOUR_OF_APRIL), List.copyOf(kwhByHour.keySet()));
+        assertEquals(150L, kwhByHour.get(LAST_HOUR_OF_MARCH));
+        assertEquals(25L, kwhByHour.get(FIRST_HOUR_OF_APRIL));
+        assertEquals(4L, aggregation.readingCount());
+    }
+
+    @Test
+    void aggregateKwhByHour_callerOnPrimary_readChunksFromPrimary() {
+        when(intervalReadingRepository.findReadingRange(METER_ID, 0L, Long.MAX_VALUE))
+                .thenReturn(new ReadingRangeDto(4L, LAST_HOUR_OF_MARCH, FIRST_HOUR_OF_APRIL + 900));
+        Set<Boolean> chunkRouting = ConcurrentHashMap.newKeySet();
+        when(intervalReadingRepository.findByMeterIdInRange(eq(METER_ID), anyLong(), anyLong())).thenAnswer(invocation -> {
+            chunkRouting.add(ReadRouting.isPrimaryRequested());
+            return List.of(reading(invocation.<Long>getArgument(1), 10));
+        });
+
+        ReadRouting.onPrimary(() -> parallelReportAggregator.aggregateKwhByHour(METER_ID, 0L, Long.MAX_VALUE));
+
+        assertEquals(Set.of(true), chunkRouting);
+    }
+
+    @Test
+    void aggregateKwhByHour_singleThread_skipRangeQuery() {
+        ThreadPoolExecutor singleThread = executor(1);
+        try {
+            ParallelReportAggregator aggregator = new ParallelReportAggregator(intervalReadingRepository, singleThread, aggregationProperties);
+
+            assertTrue(aggregator.aggregateKwhByHour(METER_ID, 0L, Long.MAX_VALUE).isEmpty());
+            verifyNoInteractions(intervalReadingRepository);
+        } finally {
+            singleThread.shutdown();
+        }
+    }
+
+    @Test
+    void aggregateKwhByHour_chunkFails_rethrowChunkException() {
+        when(intervalReadingRepository.findReadingRange(METER_ID, 0L, Long.MAX_VALUE))
+                .thenReturn(new ReadingRangeDto(4L, LAST_HOUR_OF_MARCH, FIRST_HOUR_OF_APRIL + 900));
+        when(intervalReadingRepository.findByMeterIdInRange(eq(METER_ID), anyLong(), anyLong()))
+                .thenThrow(new IllegalStateException("connection lost"));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> parallelReportAggregator.aggregateKwhByHour(METER_ID, 0L, Long.MAX_VALUE));
+        assertEquals("connection lost", exception.getMessage());
+    }
+
+    private ThreadPoolExecutor executor(int threads) {
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+    }
+
+    private IntervalReading reading(long startTimestamp, long value) {
+        IntervalReading reading = new IntervalReading();
+        reading.setStartTimestamp(startTimestamp);
+        reading.setDurationSeconds(900L);
+        reading.setReadingValue(value);
+        return reading;
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.energyreportapplication.service;
+
+import com.example.energyreportapplication.config.ReadingCompactionProperties;
+import com.example.energyreportapplication.event.ReadingsExpiredEvent;
+import com.example.energyreportapplication.model.entity.IntervalReading;
+import com.example.energyreportapplication.model.entity.ReadingType;
+import com.example.energyreportapplication.repository.IntervalReadingRepository;
+import com.example.energyreportapplication.repository.ReadingTypeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReadingCompactionServiceImplTest {
+
+    private static final int PARTITION_MONTH = 201904;
+
+    @InjectMocks
+    private ReadingCompactionServiceImpl readingCompactionService;
+
+    @Mock
+    private ReadingTypeRepository readingTypeRepository;
+
+    @Mock
+    private IntervalReadingRepository intervalReadingRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private ReadingCompactionProperties compactionProperties = new ReadingCompactionProperties();
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final ReadingType readingType = new ReadingType();
+
+    @BeforeEach
+    void setUp() {
+        readingType.setMeterId("12345");
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void compactRawReadingsBefore_quarterHourReadings_replacedByHourlyAggregates() {
+        when(readingTypeRepository.findAll()).thenReturn(List.of(readingType));
+        when(intervalReadingRepository.findRawPartitionMonths(eq(readingType), eq(3600L), anyLong()))
+                .thenReturn(List.of(PARTITION_MONTH));
+        when(intervalReadingRepository.findRawReadingsInPartition(eq(readingType), eq(PARTITION_MONTH), eq(3600L), anyLong()))
+                .thenReturn(List.of(
+                        reading(1555484400L, 600),
+                        reading(1555485300L, 40),
+                        reading(1555486200L, 20),
+                        reading(1555488000L, 10)));
+
+        int compacted = readingCompactionService.compactRawReadingsBefore(Instant.ofEpochSecond(1555500000L));
+
+        assertEquals(4, compacted);
+        verify(intervalReadingRepository).deleteRawReadingsInPartition(readingType, PARTITION_MONTH, 3600L, 1555498800L);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<IntervalReading>> captor = ArgumentCaptor.forClass(List.class);
+        verify(intervalReadingRepository).saveAll(captor.capture());
+        List<IntervalReading> hourlyReadings = captor.getValue();
+
+        assertEquals(2, hourlyReadings.size());
+        assertEquals(1555484400L, hourlyReadings.get(0).getStartTimestamp());
+        assertEquals(3600L, hourlyReadings.get(0).getDurationSeconds());
+        assertEquals(660L, hourlyReadings.get(0).getReadingValue());
+        assertEquals(1555488000L, hourlyReadings.get(1).getStartTimestamp());
+        assertEquals(10L, hourlyReadings.get(1).getReadingValue());
+    }
+
+    @Test
+    void compactRawReadingsBefore_noRawPartitions_nothingDeleted() {
+        when(readingTypeRepository.findAll()).thenReturn(List.of(readingType));
+        when(intervalReadingRepository.findRawPartitionMonths(eq(readingType), eq(3600L), anyLong())).thenReturn(List.of());
+
+        int compacted = readingCompactionService.compactRawReadingsBefore(Instant.ofEpochSecond(1555500000L));
+
+        assertEquals(0, compacted);
+        verify(intervalReadingRepository, never()).deleteRawReadingsInPartition(any(), anyInt(), anyLong(), anyLong());
+        verify(intervalReadingRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void compactExpiredRawReadings_disabled_doesNothing() {
+        compactionProperties.setEnabled(false);
+
+        readingCompactionService.compactExpiredRawReadings();
+
+        verifyNoInteractions(readingTypeRepository, intervalReadingRepository);
+    }
+
+    @Test
+    void deleteReadingsBefore_expiredPartitions_deletePerPartitionAndEvictReport() {
+        when(readingTypeRepository.findAll()).thenReturn(List.of(readingType));
+        when(intervalReadingRepository.findPartitionMonthsBefore(readingType, PARTITION_MONTH, 1555498800L))
+                .thenReturn(List.of(201903, PARTITION_MONTH));
+        when(intervalReadingRepository.deleteReadingsInPartitionBefore(readingType, 201903, 1555498800L)).thenReturn(720);
+        when(intervalReadingRepository.deleteReadingsInPartitionBefore(readingType, PARTITION_MONTH, 1555498800L)).thenReturn(400);
+
+        int deleted = readingCompactionService.deleteReadingsBefore(Instant.ofEpochSecond(1555500000L));
+
+        assertEquals(1120, deleted);
+        verify(eventPublisher).publishEvent(new ReadingsExpiredEvent("12345", 1120));
+    }
+
+    @Test
+    void compactExpiredRawReadings_noHourlyRetention_keepHourlyReadings() {
+        when(readingTypeRepository.findAll()).thenReturn(List.of(readingType));
+
+        readingCompactionService.compactExpiredRawReadings();
+
+        verify(intervalReadingRepository, never()).findPartitionMonthsBefore(any(), anyInt(), anyLong());
+        verify(intervalReadingRepository, never()).deleteReadingsInPartitionBefore(any(), anyInt(), anyLong());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    private IntervalReading reading(long startTimestamp, long value) {
+        IntervalReading reading = new IntervalReading();
+        reading.setReadingType(readingType);
+        reading.setStartTimestamp(startTimestamp);
+        reading.setDurationSeconds(900L);
+        reading.setReadingValue(value);
+        return reading;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.energyreportapplication.service;
+
+import com.example.energyreportapplication.model.dto.ExportFormat;
+import com.example.energyreportapplication.model.dto.ExportRowDto;
+import com.example.energyreportapplication.repository.IntervalReadingRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReadingExportServiceImplTest {
+
+    @InjectMocks
+    private ReadingExportServiceImpl readingExportService;
+
+    @Mock
+    private IntervalReadingRepository intervalReadingRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void exportReadings_allMetersAsCsv_writeHeaderAndRows() throws IOException {
+        when(intervalReadingRepository.streamAllForExport(197001, 999912, 0L, Long.MAX_VALUE)).thenReturn(Stream.of(
+                new ExportRowDto("meter1", 1555484400L, 900L, 600L),
+                new ExportRowDto("meter,2", 1555485300L, 900L, 40L)));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        long rows = readingExportService.exportReadings(null, null, null, ExportFormat.CSV, outputStream);
+
+        assertEquals(2, rows);
+        assertEquals("meterId,startTimestamp,durationSeconds,readingValue\n" +
+                        "meter1,1555484400,900,600\n" +
+                        "\"meter,2\",1555485300,900,40\n",
+                outputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportReadings_selectedMetersInRangeAsNdjson_writeOneObjectPerLine() throws IOException {
+        List<String> meterIds = List.of("meter1", "meter2");
+        when(intervalReadingRepository.streamForExport(meterIds, 201904, 201904, 1555484400L, 1555488000L)).thenReturn(Stream.of(
+                new ExportRowDto("meter1", 1555484400L, 900L, 600L),
+                new ExportRowDto("meter2", 1555485300L, 900L, 40L)));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        long rows = readingExportService.exportReadings(meterIds, 1555484400L, 1555488000L, ExportFormat.NDJSON, outputStream);
+
+        assertEquals(2, rows);
+        assertEquals("{\"meterId\":\"meter1\",\"startTimestamp\":1555484400,\"durationSeconds\":900,\"readingValue\":600}\n" +
+                        "{\"meterId\":\"meter2\",\"startTimestamp\":1555485300,\"durationSeconds\":900,\"readingValue\":40}\n",
+                outputStream.toString(StandardCharsets.UTF_8));
+        verify(intervalReadingRepository, never()).streamAllForExport(anyInt(), anyInt(), anyLong(), anyLong());
+    }
+}
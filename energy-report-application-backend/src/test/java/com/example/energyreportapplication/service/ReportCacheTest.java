@@ -0,0 +1,54 @@
+package com.example.energyreportapplication.service;
+
+import com.example.energyreportapplication.config.ReportCacheProperties;
+import com.example.energyreportapplication.event.ReadingsIngestedEvent;
+import com.example.energyreportapplication.event.TariffChangedEvent;
+import com.example.energyreportapplication.model.dto.ReportDto;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReportCacheTest {
+
+    private final ReportCache reportCache = new ReportCache(new ReportCacheProperties());
+
+    @Test
+    void currentVersion_unknownMeters_trackNoVersions() {
+        for (int i = 0; i < 1000; i++) {
+            String meterId = "unknown-" + i;
+            reportCache.put(meterId, reportCache.currentVersion(meterId), report(meterId));
+        }
+
+        assertEquals(0, reportCache.trackedMeterCount());
+    }
+
+    @Test
+    void put_readingsIngestedAfterVersionRead_doNotCacheReport() {
+        String meterId = "12345";
+        long version = reportCache.currentVersion(meterId);
+
+        reportCache.onReadingsIngested(new ReadingsIngestedEvent(meterId, 4));
+        reportCache.put(meterId, version, report(meterId));
+
+        assertNull(reportCache.get(meterId));
+        assertEquals(1, reportCache.trackedMeterCount());
+    }
+
+    @Test
+    void onTariffChanged_cachedReport_evictReport() {
+        String meterId = "12345";
+        reportCache.put(meterId, reportCache.currentVersion(meterId), report(meterId));
+        assertNotNull(reportCache.get(meterId));
+
+        reportCache.onTariffChanged(new TariffChangedEvent(meterId));
+
+        assertNull(reportCache.get(meterId));
+    }
+
+    private ReportDto report(String meterId) {
+        return new ReportDto(meterId, 100L, BigDecimal.TEN, List.of());
+    }
+}
@@ -1,23 +1,38 @@
 package com.example.energyreportapplication.service;
 
+import com.example.energyreportapplication.config.ProfilingProperties;
+import com.example.energyreportapplication.config.ReadRouting;
+import com.example.energyreportapplication.config.ReportCoalescingProperties;
 import com.example.energyreportapplication.exception.ReportGenerationException;
+import com.example.energyreportapplication.model.dto.HourlyReportDto;
+import com.example.energyreportapplication.model.dto.HourlyReportPageDto;
 import com.example.energyreportapplication.model.dto.ReportDto;
 import com.example.energyreportapplication.model.entity.IntervalReading;
 import com.example.energyreportapplication.model.entity.ReadingType;
+import com.example.energyreportapplication.model.entity.TariffSchedule;
+import com.example.energyreportapplication.profiling.RequestProfiler;
 import com.example.energyreportapplication.repository.IntervalReadingRepository;
 import com.example.energyreportapplication.repository.ReadingTypeRepository;
+import com.example.energyreportapplication.repository.TariffScheduleRepository;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -34,6 +49,24 @@ public class ReportGeneratingServiceImplTest {
     @Mock
     private IntervalReadingRepository intervalReadingRepository;
 
+    @Mock
+    private ParallelReportAggregator parallelReportAggregator;
+
+    @Mock
+    private ReportCache reportCache;
+
+    @Spy
+    private ReportRequestCoalescer reportRequestCoalescer = new ReportRequestCoalescer(new ReportCoalescingProperties());
+
+    @Mock
+    private TariffScheduleRepository tariffScheduleRepository;
+
+    @Spy
+    private RequestProfiler requestProfiler = new RequestProfiler(new ProfilingProperties());
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @Test
     void getReport_validMeterId_returnReport() {
         String meterId = "12345";
@@ -105,6 +138,169 @@ public class ReportGeneratingServiceImplTest {
         assertEquals(BigDecimal.valueOf(30.0), report.totalCost());
     }
 
+    @Test
+    void getReport_cachedReport_returnCachedReportWithoutQuerying() {
+        String meterId = "12345";
+        ReportDto cachedReport = new ReportDto(meterId, 100L, BigDecimal.TEN, List.of());
+        when(reportCache.get(meterId)).thenReturn(cachedReport);
+
+        ReportDto report = reportGeneratingService.getReport(meterId);
+
+        assertSame(cachedReport, report);
+        verifyNoInteractions(readingTypeRepository, intervalReadingRepository);
+    }
+
+    private ReportDto cachedReportWithHours(String meterId, String... hours) {
+        List<HourlyReportDto> hourlyReports = Arrays.stream(hours)
+                .map(hour -> new HourlyReportDto(hour, 10L, BigDecimal.ONE))
+                .toList();
+        ReportDto report = new ReportDto(meterId, 10L * hours.length, BigDecimal.valueOf(hours.length), hourlyReports);
+        when(reportCache.get(meterId)).thenReturn(report);
+        return report;
+    }
+
+    @Test
+    void getHourlyReportPage_offsetAndLimit_returnWindowWithTotals() {
+        String meterId = "12345";
+        cachedReportWithHours(meterId, "2019-04-01 00:00", "2019-04-01 01:00", "2019-04-01 02:00", "2019-04-01 03:00");
+
+        HourlyReportPageDto page = reportGeneratingService.getHourlyReportPage(meterId, null, 1, 2);
+
+        assertEquals(4, page.totalHours());
+        assertEquals(1, page.offset());
+        assertEquals(40L, page.totalEnergy());
+        assertEquals(List.of("2019-04-01 01:00", "2019-04-01 02:00"),
+                page.hourlyReports().stream().map(HourlyReportDto::hour).toList());
+    }
+
+    @Test
+    void getHourlyReportPage_offsetPastEnd_returnEmptyPage() {
+        String meterId = "12345";
+        cachedReportWithHours(meterId, "2019-04-01 00:00");
+
+        HourlyReportPageDto page = reportGeneratingService.getHourlyReportPage(meterId, null, 5, 100);
+
+        assertEquals(1, page.offset());
+        assertTrue(page.hourlyReports().isEmpty());
+    }
+
+    @Test
+    void getHourlyReportPage_since_startAtFirstHourNotBefore() {
+        String meterId = "12345";
+        cachedReportWithHours(meterId, "2019-04-01 00:00", "2019-04-01 02:00", "2019-04-01 03:00");
+
+        HourlyReportPageDto page = reportGeneratingService.getHourlyReportPage(meterId, "2019-04-01 01:00", 0, 100);
+
+        assertEquals(1, page.offset());
+        assertEquals(List.of("2019-04-01 02:00", "2019-04-01 03:00"),
+                page.hourlyReports().stream().map(HourlyReportDto::hour).toList());
+        verifyNoInteractions(readingTypeRepository, intervalReadingRepository);
+    }
+
+    @Test
+    void getReport_notCached_storeReportAgainstVersionReadBeforeGenerating() {
+        String meterId = "12345";
+
+        ReadingType readingType = new ReadingType();
+        readingType.setMeterId(meterId);
+        readingType.setKwhPrice(BigDecimal.valueOf(0.10));
+        when(readingTypeRepository.findByMeterId(meterId)).thenReturn(Optional.of(readingType));
+        when(reportCache.currentVersion(meterId)).thenReturn(7L);
+
+        IntervalReading intervalReading = new IntervalReading();
+        intervalReading.setStartTimestamp(3600L);
+        intervalReading.setReadingValue(100L);
+        when(intervalReadingRepository.findByReadingType_MeterId(meterId)).thenReturn(List.of(intervalReading));
+
+        ReportDto report = reportGeneratingService.getReport(meterId);
+
+        verify(reportCache).put(meterId, 7L, report);
+    }
+
+    @Test
+    void getReport_notCached_readFromPrimaryInOneReadOnlyTransaction() {
+        String meterId = "12345";
+
+        ReadingType readingType = new ReadingType();
+        readingType.setMeterId(meterId);
+        readingType.setKwhPrice(BigDecimal.valueOf(0.10));
+        AtomicBoolean readOnPrimary = new AtomicBoolean();
+        when(readingTypeRepository.findByMeterId(meterId)).thenAnswer(invocation -> {
+            readOnPrimary.set(ReadRouting.isPrimaryRequested());
+            return Optional.of(readingType);
+        });
+
+        IntervalReading intervalReading = new IntervalReading();
+        intervalReading.setStartTimestamp(3600L);
+        intervalReading.setReadingValue(100L);
+        when(intervalReadingRepository.findByReadingType_MeterId(meterId)).thenReturn(List.of(intervalReading));
+
+        reportGeneratingService.getReport(meterId);
+
+        assertTrue(readOnPrimary.get());
+        assertFalse(ReadRouting.isPrimaryRequested());
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
+    @Test
+    void getReport_largeRange_aggregateInParallelBeforeOpeningTransaction() {
+        String meterId = "12345";
+
+        ReadingType readingType = new ReadingType();
+        readingType.setMeterId(meterId);
+        readingType.setKwhPrice(BigDecimal.valueOf(0.10));
+        when(readingTypeRepository.findByMeterId(meterId)).thenReturn(Optional.of(readingType));
+        when(parallelReportAggregator.aggregateKwhByHour(meterId, 0L, 7200L)).thenReturn(Optional.of(
+                new ParallelReportAggregator.HourlyAggregation(new TreeMap<>(Map.of(3600L, 100L)), 4)));
+
+        ReportDto report = reportGeneratingService.getReport(meterId, 0L, 7200L);
+
+        assertEquals(100L, report.totalEnergy());
+        InOrder inOrder = inOrder(parallelReportAggregator, transactionManager);
+        inOrder.verify(parallelReportAggregator).aggregateKwhByHour(meterId, 0L, 7200L);
+        inOrder.verify(transactionManager).getTransaction(any());
+        verify(intervalReadingRepository, never()).findByMeterIdInRange(anyString(), anyLong(), anyLong());
+    }
+
+    @Test
+    void getReport_tariffSchedule_priceHoursByTimeOfUse() {
+        String meterId = "12345";
+
+        ReadingType readingType = new ReadingType();
+        readingType.setMeterId(meterId);
+        readingType.setKwhPrice(BigDecimal.valueOf(0.10));
+        when(readingTypeRepository.findByMeterId(meterId)).thenReturn(Optional.of(readingType));
+
+        // Effective from Monday 2019-04-15T00:00Z, peak from 08:00 to 20:00 UTC
+        TariffSchedule schedule = new TariffSchedule();
+        schedule.setEffectiveFrom(1555286400L);
+        schedule.setPeakStartHour(8);
+        schedule.setPeakEndHour(20);
+        schedule.setWeekdayPeakPrice(BigDecimal.valueOf(0.30));
+        schedule.setWeekdayOffPeakPrice(BigDecimal.valueOf(0.20));
+        schedule.setWeekendPeakPrice(BigDecimal.valueOf(0.15));
+        schedule.setWeekendOffPeakPrice(BigDecimal.valueOf(0.05));
+        when(tariffScheduleRepository.findByReadingType_MeterIdOrderByEffectiveFromAscIdAsc(meterId)).thenReturn(List.of(schedule));
+
+        IntervalReading beforeSchedule = new IntervalReading();
+        beforeSchedule.setStartTimestamp(1555282800L); // Sunday 2019-04-14 23:00, flat price
+        beforeSchedule.setReadingValue(10L);
+        IntervalReading weekdayPeak = new IntervalReading();
+        weekdayPeak.setStartTimestamp(1555315200L); // Monday 2019-04-15 08:00
+        weekdayPeak.setReadingValue(10L);
+        IntervalReading weekendOffPeak = new IntervalReading();
+        weekendOffPeak.setStartTimestamp(1555804800L); // Sunday 2019-04-21 00:00
+        weekendOffPeak.setReadingValue(10L);
+        when(intervalReadingRepository.findByReadingType_MeterId(meterId)).thenReturn(List.of(beforeSchedule, weekdayPeak, weekendOffPeak));
+
+        ReportDto report = reportGeneratingService.getReport(meterId);
+
+        assertEquals(BigDecimal.valueOf(1.0), report.hourlyReports().get(0).cost());
+        assertEquals(BigDecimal.valueOf(3.0), report.hourlyReports().get(1).cost());
+        assertEquals(new BigDecimal("0.50"), report.hourlyReports().get(2).cost());
+        assertEquals(new BigDecimal("4.50"), report.totalCost());
+    }
+
     @Test
     void getAllMeterIds_validMeterIds_returnAllMeterIds() {
         ReadingType readingType1 = new ReadingType();
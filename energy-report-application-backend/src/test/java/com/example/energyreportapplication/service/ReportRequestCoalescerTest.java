@@ -0,0 +1,184 @@
+package com.example.energyreportapplication.service;
+
+import com.example.energyreportapplication.config.ReportCoalescingProperties;
+import com.example.energyreportapplication.exception.ReportGenerationException;
+import com.example.energyreportapplication.model.dto.ReportDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReportRequestCoalescerTest {
+
+    private static final String METER_ID = "12345";
+
+    private final ReportCoalescingProperties properties = new ReportCoalescingProperties();
+    private final ReportRequestCoalescer reportRequestCoalescer = new ReportRequestCoalescer(properties);
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_concurrentIdenticalRequests_computeOnce() throws Exception {
+        ReportDto report = report(100L);
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<ReportDto> leader = executor.submit(() -> reportRequestCoalescer.execute(METER_ID, null, null, () -> {
+            computations.incrementAndGet();
+            leaderStarted.countDown();
+            await(release);
+            return report;
+        }));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+        List<Thread> followerThreads = new ArrayList<>();
+        List<Future<ReportDto>> followers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            followers.add(executor.submit(() -> {
+                synchronized (followerThreads) {
+                    followerThreads.add(Thread.currentThread());
+                }
+                return reportRequestCoalescer.execute(METER_ID, null, null, () -> {
+                    computations.incrementAndGet();
+                    return report(0L);
+                });
+            }));
+        }
+        awaitWaiting(followerThreads, 10);
+        release.countDown();
+
+        assertSame(report, leader.get(5, TimeUnit.SECONDS));
+        for (Future<ReportDto> follower : followers) {
+            assertSame(report, follower.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, computations.get());
+    }
+
+    @Test
+    void execute_differentRanges_computeSeparately() {
+        ReportDto fullReport = reportRequestCoalescer.execute(METER_ID, null, null, () -> report(100L));
+        ReportDto rangedReport = reportRequestCoalescer.execute(METER_ID, 0L, 3600L, () -> report(10L));
+
+        assertEquals(100L, fullReport.totalEnergy());
+        assertEquals(10L, rangedReport.totalEnergy());
+    }
+
+    @Test
+    void execute_computationFails_propagateToCaller() {
+        assertThrows(ReportGenerationException.class, () -> reportRequestCoalescer.execute(METER_ID, null, null, () -> {
+            throw new ReportGenerationException("No IntervalReading found for meterId: " + METER_ID);
+        }));
+
+        // A failed computation is not kept around for later callers
+        assertEquals(100L, reportRequestCoalescer.execute(METER_ID, null, null, () -> report(100L)).totalEnergy());
+    }
+
+    @Test
+    void execute_leaderThrowsError_followerFailsInsteadOfHanging() throws Exception {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<ReportDto> leader = executor.submit(() -> reportRequestCoalescer.execute(METER_ID, null, null, () -> {
+            leaderStarted.countDown();
+            await(release);
+            throw new AssertionError("boom");
+        }));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+        List<Thread> followerThreads = new ArrayList<>();
+        Future<ReportDto> follower = executor.submit(() -> {
+            synchronized (followerThreads) {
+                followerThreads.add(Thread.currentThread());
+            }
+            return reportRequestCoalescer.execute(METER_ID, null, null, () -> report(0L));
+        });
+        awaitWaiting(followerThreads, 1);
+        release.countDown();
+
+        ExecutionException leaderFailure = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(AssertionError.class, leaderFailure.getCause());
+        ExecutionException followerFailure = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ReportGenerationException.class, followerFailure.getCause());
+    }
+
+    @Test
+    void execute_leaderSlowerThanMaxWait_followerTimesOut() throws Exception {
+        properties.setMaxWaitMillis(50);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<ReportDto> leader = executor.submit(() -> reportRequestCoalescer.execute(METER_ID, null, null, () -> {
+            leaderStarted.countDown();
+            await(release);
+            return report(100L);
+        }));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+        assertThrows(ReportGenerationException.class,
+                () -> reportRequestCoalescer.execute(METER_ID, null, null, () -> report(0L)));
+
+        release.countDown();
+        assertEquals(100L, leader.get(5, TimeUnit.SECONDS).totalEnergy());
+    }
+
+    @Test
+    void supersede_inFlightComputation_laterCallerComputesFresh() throws Exception {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<ReportDto> leader = executor.submit(() -> reportRequestCoalescer.execute(METER_ID, null, null, () -> {
+            leaderStarted.countDown();
+            await(release);
+            return report(100L);
+        }));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+        reportRequestCoalescer.supersede(METER_ID);
+        ReportDto freshReport = reportRequestCoalescer.execute(METER_ID, null, null, () -> report(200L));
+        release.countDown();
+
+        assertEquals(200L, freshReport.totalEnergy());
+        assertEquals(100L, leader.get(5, TimeUnit.SECONDS).totalEnergy());
+    }
+
+    private ReportDto report(long totalEnergy) {
+        return new ReportDto(METER_ID, totalEnergy, BigDecimal.ZERO, List.of());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitWaiting(List<Thread> threads, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            synchronized (threads) {
+                if (threads.size() == expected && threads.stream().allMatch(t -> t.getState() == Thread.State.TIMED_WAITING)) {
+                    return;
+                }
+            }
+            Thread.sleep(10);
+        }
+        fail("Followers did not start waiting for the in-flight report");
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.energyreportapplication.service;
+
+import com.example.energyreportapplication.model.entity.TariffSchedule;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TariffPriceTableTest {
+
+    private static final BigDecimal FLAT = new BigDecimal("0.10");
+
+    // Monday 2019-04-15T00:00:00Z
+    private static final long MONDAY = 1555286400L;
+    private static final long HOUR = 3600L;
+    private static final long DAY = 24 * HOUR;
+
+    @Test
+    void priceAt_noSchedules_flatPrice() {
+        TariffPriceTable priceTable = TariffPriceTable.compile(FLAT, List.of());
+
+        assertEquals(FLAT, priceTable.priceAt(MONDAY));
+        assertEquals(FLAT, priceTable.priceAt(0L));
+    }
+
+    @Test
+    void priceAt_weekdayAndWeekendPeakWindow_resolveRate() {
+        TariffPriceTable priceTable = TariffPriceTable.compile(FLAT, List.of(schedule(MONDAY, 8, 20, "0.30")));
+
+        assertEquals(FLAT, priceTable.priceAt(MONDAY - HOUR));
+        assertEquals(new BigDecimal("0.20"), priceTable.priceAt(MONDAY + 7 * HOUR));
+        assertEquals(new BigDecimal("0.30"), priceTable.priceAt(MONDAY + 8 * HOUR));
+        assertEquals(new BigDecimal("0.30"), priceTable.priceAt(MONDAY + 4 * DAY + 19 * HOUR));
+        assertEquals(new BigDecimal("0.20"), priceTable.priceAt(MONDAY + 4 * DAY + 20 * HOUR));
+        assertEquals(new BigDecimal("0.15"), priceTable.priceAt(MONDAY + 5 * DAY + 12 * HOUR));
+        assertEquals(new BigDecimal("0.05"), priceTable.priceAt(MONDAY + 6 * DAY + 23 * HOUR));
+        assertEquals(new BigDecimal("0.30"), priceTable.priceAt(MONDAY + 52 * 7 * DAY + 8 * HOUR));
+    }
+
+    @Test
+    void priceAt_peakWindowAcrossMidnight_wrap() {
+        TariffPriceTable priceTable = TariffPriceTable.compile(FLAT, List.of(schedule(MONDAY, 22, 6, "0.30")));
+
+        assertEquals(new BigDecimal("0.30"), priceTable.priceAt(MONDAY + 23 * HOUR));
+        assertEquals(new BigDecimal("0.30"), priceTable.priceAt(MONDAY + 5 * HOUR));
+        assertEquals(new BigDecimal("0.20"), priceTable.priceAt(MONDAY + 6 * HOUR));
+    }
+
+    @Test
+    void priceAt_laterSchedule_replaceEarlierFromEffectiveTime() {
+        TariffPriceTable priceTable = TariffPriceTable.compile(FLAT, List.of(
+                schedule(MONDAY, 8, 20, "0.30"),
+                schedule(MONDAY + 7 * DAY, 8, 20, "0.40"),
+                schedule(MONDAY + 7 * DAY, 8, 20, "0.50")));
+
+        assertEquals(new BigDecimal("0.30"), priceTable.priceAt(MONDAY + 4 * DAY + 8 * HOUR));
+        assertEquals(new BigDecimal("0.50"), priceTable.priceAt(MONDAY + 7 * DAY + 8 * HOUR));
+    }
+
+    private TariffSchedule schedule(long effectiveFrom, int peakStartHour, int peakEndHour, String weekdayPeakPrice) {
+        TariffSchedule schedule = new TariffSchedule();
+        schedule.setEffectiveFrom(effectiveFrom);
+        schedule.setPeakStartHour(peakStartHour);
+        schedule.setPeakEndHour(peakEndHour);
+        schedule.setWeekdayPeakPrice(new BigDecimal(weekdayPeakPrice));
+        schedule.setWeekdayOffPeakPrice(new BigDecimal("0.20"));
+        schedule.setWeekendPeakPrice(new BigDecimal("0.15"));
+        schedule.setWeekendOffPeakPrice(new BigDecimal("0.05"));
+        return schedule;
+    }
+}
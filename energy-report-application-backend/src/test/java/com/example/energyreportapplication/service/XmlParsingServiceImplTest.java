@@ -1,8 +1,14 @@
 package com.example.energyreportapplication.service;
 
+import com.example.energyreportapplication.config.FeedParsingProperties;
+import com.example.energyreportapplication.config.ProfilingProperties;
+import com.example.energyreportapplication.config.XmlMapperConfig;
+import com.example.energyreportapplication.event.ReadingsIngestedEvent;
 import com.example.energyreportapplication.exception.MissingDataException;
+import com.example.energyreportapplication.exception.PayloadTooLargeException;
 import com.example.energyreportapplication.exception.XmlParsingException;
 import com.example.energyreportapplication.model.entity.ReadingType;
+import com.example.energyreportapplication.profiling.RequestProfiler;
 import com.example.energyreportapplication.repository.IntervalReadingRepository;
 import com.example.energyreportapplication.repository.ReadingTypeRepository;
 import com.example.energyreportapplication.xmlmodel.*;
@@ -12,9 +18,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 
@@ -38,6 +50,18 @@ public class XmlParsingServiceImplTest {
     @Mock
     private XmlMapper xmlMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private DailyUsageIndexService dailyUsageIndexService;
+
+    @Spy
+    private FeedParsingProperties feedParsingProperties = new FeedParsingProperties();
+
+    @Spy
+    private RequestProfiler requestProfiler = new RequestProfiler(new ProfilingProperties());
+
     @Test
     void parseAndStore_validXml_saveIntervalReadingsAndReadingType() throws JsonProcessingException {
         String validXml = "<mocked-xml-content>";
@@ -51,6 +75,8 @@ public class XmlParsingServiceImplTest {
 
         verify(readingTypeRepository).findByMeterId(anyString());
         verify(intervalReadingRepository).saveAll(anyList());
+        verify(dailyUsageIndexService).updateForReadings(eq(mockReadingType), anyList());
+        verify(eventPublisher).publishEvent(new ReadingsIngestedEvent("12345", 1));
     }
 
     @Test
@@ -118,6 +144,63 @@ public class XmlParsingServiceImplTest {
         verifyNoInteractions(readingTypeRepository, intervalReadingRepository);
     }
 
+    @Test
+    void parseAndStore_xmlStream_saveIntervalReadings() throws IOException {
+        Feed mockFeed = createValidFeed();
+        when(xmlMapper.readValue(any(InputStream.class), eq(Feed.class))).thenReturn(mockFeed);
+        when(readingTypeRepository.findByMeterId(anyString())).thenReturn(Optional.of(new ReadingType()));
+
+        xmlParsingService.parseAndStore(new ByteArrayInputStream("<feed/>".getBytes()));
+
+        verify(intervalReadingRepository).saveAll(anyList());
+    }
+
+    @Test
+    void parseAndStore_xmlStreamExceedsMaxSize_throwPayloadTooLargeException() throws IOException {
+        feedParsingProperties.setMaxDocumentBytes(16);
+        when(xmlMapper.readValue(any(InputStream.class), eq(Feed.class))).thenAnswer(invocation -> {
+            invocation.<InputStream>getArgument(0).readAllBytes();
+            return createValidFeed();
+        });
+
+        assertThrows(PayloadTooLargeException.class,
+                () -> xmlParsingService.parseAndStore(new ByteArrayInputStream(new byte[64])));
+        verifyNoInteractions(readingTypeRepository, intervalReadingRepository);
+    }
+
+    @Test
+    void parseAndStore_xmlStreamExceedsMaxSizeWhileMappingBeans_throwPayloadTooLargeException() {
+        // Parse through the real feed mapper so the limit is hit while Jackson is inside the nested beans
+        XmlMapperConfig xmlMapperConfig = new XmlMapperConfig();
+        XmlMapper feedMapper = xmlMapperConfig.xmlMapper(xmlMapperConfig.feedXmlInputFactory(new FeedParsingProperties()));
+        FeedParsingProperties limitedProperties = new FeedParsingProperties();
+        limitedProperties.setMaxDocumentBytes(8 * 1024);
+        XmlParsingServiceImpl limitedService = new XmlParsingServiceImpl(readingTypeRepository, intervalReadingRepository,
+                feedMapper, eventPublisher, limitedProperties, dailyUsageIndexService, requestProfiler);
+
+        StringBuilder xml = new StringBuilder("<feed><id>12345</id><entry><content><IntervalBlock>");
+        for (int i = 0; i < 1000; i++) {
+            xml.append("<IntervalReading><timePeriod><duration>900</duration><start>")
+                    .append(1555484400L + i * 900L)
+                    .append("</start></timePeriod><value>100</value></IntervalReading>");
+        }
+        xml.append("</IntervalBlock></content></entry></feed>");
+        InputStream body = new ByteArrayInputStream(xml.toString().getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(PayloadTooLargeException.class, () -> limitedService.parseAndStore(body));
+        verifyNoInteractions(readingTypeRepository, intervalReadingRepository);
+    }
+
+    @Test
+    void parseAndStore_tooManyReadings_throwPayloadTooLargeException() throws JsonProcessingException {
+        String xml = "<mocked-xml-content>";
+        feedParsingProperties.setMaxReadingsPerRequest(0);
+        when(xmlMapper.readValue(xml, Feed.class)).thenReturn(createValidFeed());
+
+        assertThrows(PayloadTooLargeException.class, () -> xmlParsingService.parseAndStore(xml));
+        verifyNoInteractions(readingTypeRepository, intervalReadingRepository, dailyUsageIndexService);
+    }
+
     // Helper methods to create mock Feed objects
     private Feed createValidFeed() {
         Feed feed = new Feed();
@@ -1,39 +1,149 @@
-import { useEffect, useState } from 'react';
-import { Report } from '../types';
+import { useCallback, useEffect, useRef, useState } from 'react';
+import { HourlyReport, HourlyReportPage } from '../types';
 
 type MeterReportProps = {
     meterId: string;
 }
 
+type ReportTotals = {
+    totalEnergy: number;
+    totalCost: number;
+    totalHours: number;
+}
+
+const API_URL = 'http://localhost:8080/api/report/hours';
+const ROW_HEIGHT = 41; // px: py-2 cells plus the bottom border
+const VIEWPORT_HEIGHT = 480;
+const PAGE_SIZE = 100;
+const PREFETCH_ROWS = 100; // rows fetched ahead of each edge of the visible window
+const OVERSCAN_ROWS = 10; // rows rendered beyond each edge of the visible window
+const REFRESH_PAGE_SIZE = 1000;
+const REFRESH_INTERVAL_MS = 30000; // 30000ms = 30s
+
+const fetchPage = (meterId: string, params: Record<string, string>): Promise<HourlyReportPage> =>
+    fetch(`${API_URL}?${new URLSearchParams({ meterId, ...params })}`)
+        .then(response => {
+            if (!response.ok) {
+                throw new Error(`Server returned ${response.status}`);
+            }
+            return response.json();
+        });
+
 const MeterReport = ({ meterId }: MeterReportProps) => {
-    const [report, setReport] = useState<Report | null>(null);
+    const [totals, setTotals] = useState<ReportTotals | null>(null);
     const [loading, setLoading] = useState(false);
     const [error, setError] = useState('');
+    const [scrollTop, setScrollTop] = useState(0);
+    const [rowsVersion, setRowsVersion] = useState(0);
+
+    // Loaded rows by index; only the pages around the visible window are ever fetched
+    const rows = useRef(new Map<number, HourlyReport>());
+    const requestedPages = useRef(new Set<number>());
+    const totalHoursRef = useRef(0);
+    // Incremented per meter so that responses for a previously selected meter are dropped
+    const generation = useRef(0);
+
+    const storePage = useCallback((page: HourlyReportPage) => {
+        page.hourlyReports.forEach((hourlyReport, index) => rows.current.set(page.offset + index, hourlyReport));
+        totalHoursRef.current = page.totalHours;
+        setTotals({ totalEnergy: page.totalEnergy, totalCost: page.totalCost, totalHours: page.totalHours });
+        setRowsVersion(version => version + 1);
+    }, []);
+
+    const loadPage = useCallback((pageIndex: number) => {
+        if (requestedPages.current.has(pageIndex)) return;
+        requestedPages.current.add(pageIndex);
+
+        const current = generation.current;
+        fetchPage(meterId, { offset: String(pageIndex * PAGE_SIZE), limit: String(PAGE_SIZE) })
+            .then(page => {
+                if (generation.current === current) storePage(page);
+            })
+            .catch(err => {
+                console.error(err);
+                requestedPages.current.delete(pageIndex);
+            });
+    }, [meterId, storePage]);
 
     useEffect(() => {
         if (!meterId) return;
 
+        const current = ++generation.current;
+        rows.current = new Map();
+        requestedPages.current = new Set([0]);
+        totalHoursRef.current = 0;
+        setTotals(null);
+        setScrollTop(0);
         setLoading(true);
         setError('');
-        setReport(null);
 
-        fetch(`http://localhost:8080/api/report?meterId=${meterId}`)
-            .then(response => {
-                if (!response.ok) {
-                    throw new Error(`Server returned ${response.status}`);
-                }
-                return response.json();
-            })
-            .then(data => {
-                setReport(data);
+        fetchPage(meterId, { offset: '0', limit: String(PAGE_SIZE) })
+            .then(page => {
+                if (generation.current !== current) return;
+                storePage(page);
                 setLoading(false);
             })
             .catch(err => {
+                if (generation.current !== current) return;
                 console.error(err);
                 setError('Failed to load report. Please try again.');
                 setLoading(false);
             });
-    }, [meterId]);
+    }, [meterId, storePage]);
+
+    // Refresh only from the last known hour onwards: it may have grown, and any later hours are new
+    useEffect(() => {
+        if (!meterId) return;
+
+        const refresh = async () => {
+            const current = generation.current;
+            let anchor = totalHoursRef.current - 1;
+            try {
+                while (anchor >= 0) {
+                    const anchorRow = rows.current.get(anchor);
+                    const page = await fetchPage(meterId, anchorRow
+                        ? { since: anchorRow.hour, limit: String(REFRESH_PAGE_SIZE) }
+                        : { offset: String(anchor), limit: String(REFRESH_PAGE_SIZE) });
+                    if (generation.current !== current) return;
+
+                    if (page.offset !== anchor) {
+                        // Hours were added before the anchor (e.g. a backfill), so every loaded row may have moved.
+                        // Pages still in flight were requested against the old offsets and must be dropped.
+                        generation.current++;
+                        rows.current = new Map();
+                        requestedPages.current = new Set();
+                        storePage(page);
+                        return;
+                    }
+                    storePage(page);
+
+                    const nextAnchor = page.offset + page.hourlyReports.length - 1;
+                    if (nextAnchor <= anchor || nextAnchor >= page.totalHours - 1) return;
+                    anchor = nextAnchor;
+                }
+            } catch (err) {
+                console.error(err);
+            }
+        };
+
+        const intervalId = setInterval(refresh, REFRESH_INTERVAL_MS);
+
+        return () => clearInterval(intervalId);
+    }, [meterId, storePage]);
+
+    const totalHours = totals?.totalHours ?? 0;
+    const firstVisible = Math.floor(scrollTop / ROW_HEIGHT);
+    const lastVisible = Math.min(totalHours, Math.ceil((scrollTop + VIEWPORT_HEIGHT) / ROW_HEIGHT));
+
+    useEffect(() => {
+        if (totalHours === 0) return;
+
+        const firstPage = Math.floor(Math.max(0, firstVisible - PREFETCH_ROWS) / PAGE_SIZE);
+        const lastPage = Math.floor((Math.min(totalHours, lastVisible + PREFETCH_ROWS) - 1) / PAGE_SIZE);
+        for (let pageIndex = firstPage; pageIndex <= lastPage; pageIndex++) {
+            loadPage(pageIndex);
+        }
+    }, [firstVisible, lastVisible, totalHours, rowsVersion, loadPage]);
 
     if (!meterId) {
         return <div className="text-center text-gray-500">Please select a meter from the dropdown above.</div>;
@@ -42,34 +152,53 @@ const MeterReport = ({ meterId }: MeterReportProps) => {
     if (loading) return <div className="text-center">Loading...</div>;
     if (error) return <div className="text-center text-red-500">{error}</div>;
 
-    if (!report) return null;
+    if (!totals) return null;
+
+    const renderFrom = Math.max(0, firstVisible - OVERSCAN_ROWS);
+    const renderTo = Math.min(totalHours, lastVisible + OVERSCAN_ROWS);
+    const renderedIndexes = Array.from({ length: Math.max(0, renderTo - renderFrom) }, (_, i) => renderFrom + i);
 
     return (
         <div className="bg-white shadow-md rounded-lg p-6 mt-4">
-            <p className="mb-4"><span className="font-medium">Meter ID:</span> {report.meterId}</p>
+            <p className="mb-4"><span className="font-medium">Meter ID:</span> {meterId}</p>
             <div className="mb-4 flex space-x-8">
-                <div><span className="font-medium">Total Energy (kWh):</span> {report.totalEnergy}</div>
-                <div><span className="font-medium">Total Cost ($):</span> {report.totalCost.toFixed(3)}</div>
+                <div><span className="font-medium">Total Energy (kWh):</span> {totals.totalEnergy}</div>
+                <div><span className="font-medium">Total Cost ($):</span> {totals.totalCost.toFixed(3)}</div>
             </div>
 
-            <h3 className="text-lg font-semibold mb-2">Hourly Details</h3>
-            <div className="overflow-x-auto">
+            <h3 className="text-lg font-semibold mb-2">Hourly Details ({totalHours} hours)</h3>
+            <div
+                className="overflow-auto"
+                style={{ height: VIEWPORT_HEIGHT }}
+                onScroll={event => setScrollTop(event.currentTarget.scrollTop)}
+            >
                 <table className="min-w-full bg-white">
                     <thead>
                     <tr>
-                        <th className="py-2 px-4 border-b">Start Hour (UTC)</th>
-                        <th className="py-2 px-4 border-b">Used Energy (kWh)</th>
-                        <th className="py-2 px-4 border-b">Cost ($)</th>
+                        <th className="py-2 px-4 border-b sticky top-0 bg-white">Start Hour (UTC)</th>
+                        <th className="py-2 px-4 border-b sticky top-0 bg-white">Used Energy (kWh)</th>
+                        <th className="py-2 px-4 border-b sticky top-0 bg-white">Cost ($)</th>
                     </tr>
                     </thead>
                     <tbody>
-                    {report.hourlyReports.map((hourlyReport, index) => (
-                        <tr key={index} className={index % 2 === 0 ? 'bg-gray-50' : 'bg-white'}>
-                            <td className="py-2 px-4 border-b text-center">{hourlyReport.hour}</td>
-                            <td className="py-2 px-4 border-b text-center">{hourlyReport.kwhUsed}</td>
-                            <td className="py-2 px-4 border-b text-center">{hourlyReport.cost.toFixed(3)}</td>
-                        </tr>
-                    ))}
+                    {renderFrom > 0 && <tr style={{ height: renderFrom * ROW_HEIGHT }} />}
+                    {renderedIndexes.map(index => {
+                        const hourlyReport = rows.current.get(index);
+                        return (
+                            <tr key={index} style={{ height: ROW_HEIGHT }} className={index % 2 === 0 ? 'bg-gray-50' : 'bg-white'}>
+                                {hourlyReport ? (
+                                    <>
+                                        <td className="py-2 px-4 border-b text-center">{hourlyReport.hour}</td>
+                                        <td className="py-2 px-4 border-b text-center">{hourlyReport.kwhUsed}</td>
+                                        <td className="py-2 px-4 border-b text-center">{hourlyReport.cost.toFixed(3)}</td>
+                                    </>
+                                ) : (
+                                    <td colSpan={3} className="py-2 px-4 border-b text-center text-gray-400">Loading...</td>
+                                )}
+                            </tr>
+                        );
+                    })}
+                    {renderTo < totalHours && <tr style={{ height: (totalHours - renderTo) * ROW_HEIGHT }} />}
                     </tbody>
                 </table>
             </div>
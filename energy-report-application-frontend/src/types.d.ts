@@ -9,4 +9,12 @@ export type Report = {
     totalEnergy: number;
     totalCost: number;
     hourlyReports: HourlyReport[];
-}
\ No newline at end of file
+}
+export type HourlyReportPage = {
+    meterId: string;
+    totalEnergy: number;
+    totalCost: number;
+    totalHours: number;
+    offset: number;
+    hourlyReports: HourlyReport[];
+}